@@ -0,0 +1,264 @@
+package org.example.bll;
+
+import org.example.bll.catalog.Catalog;
+import org.example.bll.events.EventBus;
+import org.example.bll.search.SearchIndexes;
+import org.example.bll.search.TableSearch;
+import org.example.bll.validators.EmailValidator;
+import org.example.bll.validators.Validator;
+import org.example.dao.BatchResult;
+import org.example.dao.ClientDAO;
+import org.example.model.Client;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.LongConsumer;
+
+/**
+ * Contains the business logic part of the application that has to do with the client.
+ *
+ * @author Stoica Irina
+ * @since Apr 12, 2022
+ */
+public class ClientBLL {
+    private final Validator<Client> validator;
+    private final ClientDAO clientDAO;
+    private final EventBus eventBus;
+    private final Catalog<Client> catalog;
+    private final TableSearch<Client> search;
+
+    public ClientBLL(){
+        validator = new EmailValidator();
+        clientDAO = new ClientDAO();
+        eventBus = EventBus.getInstance();
+        catalog = Catalog.getClients();
+        search = new TableSearch<>(SearchIndexes::getClients, clientDAO, catalog, SearchIndexes::fieldsOf, this::findAll);
+    }
+
+    /**
+     * This function creates a list of clients and calls the ClientDAO class function which
+     * gets all entries of the client table. When the catalogs are enabled, the clients are taken from
+     * the in-memory {@link Catalog} instead, without querying the database.
+     *
+     * @return A list containing all clients in the table
+     */
+    public List<Client> findAll() {
+         if(catalog != null){
+             return catalog.findAll();
+         }
+         List<Client> list = clientDAO.findAll();
+         if(list == null){
+             throw new NullPointerException("The database table is empty");
+         }
+         return list;
+    }
+
+    /**
+     * Returns the page of clients which follows the client with the given id, ordered by id.
+     *
+     * @param afterId Id of the last client of the previous page, or 0 for the first page
+     * @param limit Maximum number of clients in the page
+     * @return A list containing the clients of the page
+     */
+    public List<Client> findPage(int afterId, int limit) {
+        List<Client> list = clientDAO.findPage(afterId, limit);
+        if(list == null){
+            throw new NullPointerException("The clients could not be loaded");
+        }
+        return list;
+    }
+
+    /**
+     * Returns the page of clients which precedes the client with the given id, ordered by id.
+     *
+     * @param beforeId Id of the first client of the next page, or Integer.MAX_VALUE for the
+     *                 last page
+     * @param limit Maximum number of clients in the page
+     * @return A list containing the clients of the page
+     */
+    public List<Client> findPageBefore(int beforeId, int limit) {
+        List<Client> list = clientDAO.findPageBefore(beforeId, limit);
+        if(list == null){
+            throw new NullPointerException("The clients could not be loaded");
+        }
+        return list;
+    }
+
+    /**
+     * Loads only the id and name of every client, which is enough for choosing a client and
+     * avoids reading the address and email columns.
+     *
+     * @return A list of clients which have only the id and name set
+     */
+    public List<Client> findAllNames() {
+        List<Client> list = clientDAO.findAllProjected("id", "name");
+        if(list == null){
+            throw new NullPointerException("The database table is empty");
+        }
+        return list;
+    }
+
+    /**
+     * This function receives the fields entered by the user and tries to create a Client and call
+     * the database insert function. If this fails, it throws an exception
+     *
+     * @param name Name of client
+     * @param address Client address
+     * @param email Client email
+     * @throws IllegalArgumentException Exception thrown if any of the fields are empty
+     */
+    public void insertClient(String name, String address, String email) throws IllegalArgumentException {
+        if(name.equals("") || address.equals("") || email.equals("")){
+            throw new IllegalArgumentException("Cannot add client.\nPlease fill in all the fields");
+        }
+        Client client = new Client(name, address, email);
+        validator.validate(client);
+        clientDAO.insert(client);
+        if(client.getId() != null){
+            if(catalog != null){
+                catalog.put(client);
+            }
+            search.put(client);
+            eventBus.publishClientChanged(client.getId());
+        }
+    }
+
+    /**
+     * Imports the clients of a CSV file with the columns name, address and email. The rows are
+     * validated like the clients added one by one, and the rows which cannot be imported are
+     * written next to the file, in a file with the same name ending in .rejects.csv.
+     *
+     * @param source The CSV file
+     * @return The number of clients imported and rejected
+     * @throws IllegalArgumentException Thrown if the file cannot be read
+     */
+    public ImportReport importClients(Path source) throws IllegalArgumentException {
+        CsvImporter<Client> importer = new CsvImporter<>(new String[]{"name", "address", "email"},
+                fields -> new Client(fields[0], fields[1], fields[2]), validator, this::insertAll);
+        try {
+            return importer.importFile(source, CsvImporter.rejectsFile(source));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot import clients.\n" + e.getMessage());
+        }
+    }
+
+    private BatchResult insertAll(List<Client> clients) {
+        BatchResult result = clientDAO.insertAll(clients);
+        if(result.isCommitted()){
+            for(Integer id : result.getGeneratedIds()){
+                if(id != null){
+                    eventBus.publishClientChanged(id);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * This function receives the value of the field of the id. If the field is empty, it throws
+     * an NumberFormatException. It searches in the database for the entry with the id and
+     * if no entry with that id is found, it throws an NoSuchElementException
+     *
+     * @param idString The id to be searched by, in string form
+     * @return The object of Type client with integer form of the id entered
+     * @throws NoSuchElementException Thrown when the query fails to find a matching entry
+     * @throws NumberFormatException Thrown when the idString is empty
+     */
+    public Client findClientById(String idString) throws NoSuchElementException, NumberFormatException {
+        if(idString.equals("")){
+            throw new NumberFormatException("Please fill in the id field.");
+        }
+        try {
+            int id = Integer.parseInt(idString);
+            Client client = clientDAO.findById(id);
+            if (client == null) {
+                throw new NoSuchElementException("The client with id = " + id + " was not found!");
+            }
+            return client;
+        } catch(NumberFormatException e){
+            throw new NumberFormatException("Please enter a valid id.");
+        }
+    }
+
+    /**
+     * Finds the clients matching the text typed by the user, for type-ahead search: first the
+     * clients with a word of the name or of the email starting with the text, then the other
+     * clients containing it, ignoring the case and the accents. The matches are found by the
+     * {@link TableSearch} of the clients.
+     *
+     * @param query The text typed by the user
+     * @param limit Maximum number of clients returned
+     * @return The matching clients, empty if the text is blank
+     */
+    public List<Client> searchClients(String query, int limit) {
+        return search.search(query, limit);
+    }
+
+    /**
+     * Calls the database layer method for deleting a table entry
+     *
+     * @param id Id in integer form
+     * @throws IllegalArgumentException Thrown when the client could not be deleted, for example
+     * because it has orders
+     */
+    public void deleteClient(Integer id) throws IllegalArgumentException {
+        if(!clientDAO.delete(id)){
+            throw new IllegalArgumentException("The client with id = " + id + " could not be deleted.");
+        }
+        if(catalog != null){
+            catalog.remove(id);
+        }
+        search.remove(id);
+        eventBus.publishClientDeleted(id);
+    }
+
+    /**
+     * Receives the id of the client to be updated and its new name, address and email in
+     * String form. It then tries to create an object with these values and to modify it in
+     * the database.
+     *
+     * @param idString The id for the client to be identified by
+     * @param name New client name
+     * @param address New client address
+     * @param email New client email
+     * @throws IllegalArgumentException thrown when the the fields are empty or the client could
+     * not be updated
+     */
+    public void updateClient(String idString, String name, String address, String email) throws IllegalArgumentException {
+        if(name.equals("") || address.equals("") || email.equals("")){
+            throw new IllegalArgumentException("Cannot update client.\nPlease fill in all the fields");
+        }
+        int id = Integer.parseInt(idString);
+        Client client = new Client(id, name, address, email);
+        validator.validate(client);
+        if(!clientDAO.update(client)){
+            throw new IllegalArgumentException("The client with id = " + id + " could not be updated.");
+        }
+        if(catalog != null){
+            catalog.put(client);
+        }
+        search.put(client);
+        eventBus.publishClientChanged(client.getId());
+    }
+
+    /**
+     * Exports all the clients to a file, streaming them from the database so the table is never
+     * loaded in memory.
+     *
+     * @param target The file, which is replaced if it exists
+     * @param format CSV or JSON Lines
+     * @param gzip true to compress the file with gzip
+     * @param progress Called with the number of clients written so far, or null
+     * @return The number of clients exported
+     * @throws IllegalArgumentException Thrown if the export fails
+     */
+    public long exportClients(Path target, TableExporter.Format format, boolean gzip, LongConsumer progress) throws IllegalArgumentException {
+        try {
+            return TableExporter.export(clientDAO, target, format, gzip, progress);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot export clients.\n" + e.getMessage());
+        }
+    }
+}
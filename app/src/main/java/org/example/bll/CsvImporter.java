@@ -0,0 +1,345 @@
+package org.example.bll;
+
+import org.example.bll.validators.Validator;
+import org.example.dao.BatchResult;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Imports the rows of a CSV file into a table. The file is read line by line and split in
+ * chunks; worker threads parse and validate the chunks in parallel and insert the valid rows of
+ * each chunk with one batch insert. Only a few chunks are in memory at any time, whatever the
+ * size of the file. The rows which cannot be imported are written to a rejects file, with their
+ * line number and the reason.
+ * <p>
+ * A row is a single line: fields are separated by commas and may be enclosed in double quotes,
+ * with a quote inside a quoted field written as two quotes. A first line whose first field
+ * equals the first column name is taken as a header and skipped. Every chunk is committed on its
+ * own. When a row of a chunk breaks the batch insert, for example because a value is too long for
+ * its column, only that row is rejected and the other rows of the chunk are inserted again
+ * without it.
+ *
+ * @author Stoica Irina
+ * @since Oct 18, 2026
+ * @param <T> The model class of the imported rows
+ */
+public class CsvImporter<T> {
+
+    /**
+     * Creates an object from the fields of a row.
+     *
+     * @param <T> The model class
+     */
+    @FunctionalInterface
+    public interface RowParser<T> {
+        /**
+         * @param fields The fields of the row
+         * @return The object of the row
+         * @throws IllegalArgumentException Thrown if the fields are not valid, including
+         * NumberFormatException for numbers which cannot be parsed
+         */
+        T parse(String[] fields);
+    }
+
+    private static final int CHUNK_SIZE = Integer.getInteger("ordermanagement.import.chunkSize", 1000);
+    private static final int THREADS = Integer.getInteger("ordermanagement.import.threads",
+            Runtime.getRuntime().availableProcessors());
+
+    private final String[] columns;
+    private final RowParser<T> parser;
+    private final Validator<T> validator;
+    private final Function<List<T>, BatchResult> writer;
+    private final int chunkSize;
+    private final int threads;
+
+    /**
+     * @param columns The column names, in the order of the fields of a row
+     * @param parser Creates an object from the fields of a row
+     * @param validator Validator of the objects
+     * @param writer Inserts a list of objects, usually the insertAll method of a DAO
+     */
+    public CsvImporter(String[] columns, RowParser<T> parser, Validator<T> validator, Function<List<T>, BatchResult> writer) {
+        this(columns, parser, validator, writer, CHUNK_SIZE, THREADS);
+    }
+
+    public CsvImporter(String[] columns, RowParser<T> parser, Validator<T> validator, Function<List<T>, BatchResult> writer,
+                       int chunkSize, int threads) {
+        this.columns = columns;
+        this.parser = parser;
+        this.validator = validator;
+        this.writer = writer;
+        this.chunkSize = chunkSize;
+        this.threads = threads;
+    }
+
+    /**
+     * Imports a CSV file and waits until all its rows were inserted or rejected.
+     *
+     * @param source The CSV file
+     * @param rejects The file the rejected rows are written to, which is replaced if it exists
+     * @return The number of rows imported and rejected
+     * @throws IOException Thrown if the file cannot be read or the rejects cannot be written
+     */
+    public ImportReport importFile(Path source, Path rejects) throws IOException {
+        ExecutorService workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "csv-import");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Semaphore inFlight = new Semaphore(2 * threads);
+        Phaser pending = new Phaser(1);
+        AtomicInteger imported = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicReference<IOException> failure = new AtomicReference<>();
+        try (BufferedWriter rejectWriter = Files.newBufferedWriter(rejects, StandardCharsets.UTF_8)) {
+            rejectWriter.write("line,error," + String.join(",", columns));
+            rejectWriter.newLine();
+            try (BufferedReader reader = Files.newBufferedReader(source, StandardCharsets.UTF_8)) {
+                List<String> chunk = new ArrayList<>(chunkSize);
+                long chunkStart = 1;
+                long lineNumber = 0;
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lineNumber++;
+                    if (lineNumber == 1 && isHeader(line)) {
+                        chunkStart = 2;
+                        continue;
+                    }
+                    chunk.add(line);
+                    if (chunk.size() == chunkSize) {
+                        submit(workers, inFlight, pending, chunk, chunkStart, rejectWriter, imported, rejected, failure);
+                        chunk = new ArrayList<>(chunkSize);
+                        chunkStart = lineNumber + 1;
+                    }
+                }
+                if (!chunk.isEmpty()) {
+                    submit(workers, inFlight, pending, chunk, chunkStart, rejectWriter, imported, rejected, failure);
+                }
+                pending.arriveAndAwaitAdvance();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("The import was interrupted", e);
+            } finally {
+                awaitTermination(workers);
+            }
+            if (failure.get() != null) {
+                throw failure.get();
+            }
+        }
+        return new ImportReport(imported.get(), rejected.get(), rejects);
+    }
+
+    /**
+     * @param source The imported file
+     * @return The file next to it with the same name ending in .rejects.csv
+     */
+    public static Path rejectsFile(Path source) {
+        String name = source.getFileName().toString();
+        int extension = name.lastIndexOf('.');
+        return source.resolveSibling((extension > 0 ? name.substring(0, extension) : name) + ".rejects.csv");
+    }
+
+    /**
+     * Stops the workers and waits until they finished the chunks they were given, so the rejects
+     * file is not closed while they write to it.
+     */
+    private static void awaitTermination(ExecutorService workers) {
+        workers.shutdown();
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (workers.awaitTermination(1, TimeUnit.MINUTES)) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+                workers.shutdownNow();
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void submit(ExecutorService workers, Semaphore inFlight, Phaser pending, List<String> chunk, long firstLine,
+                        BufferedWriter rejectWriter, AtomicInteger imported, AtomicInteger rejected,
+                        AtomicReference<IOException> failure) throws InterruptedException {
+        inFlight.acquire();
+        pending.register();
+        workers.execute(() -> {
+            try {
+                processChunk(chunk, firstLine, rejectWriter, imported, rejected);
+            } catch (IOException e) {
+                failure.compareAndSet(null, e);
+            } finally {
+                pending.arriveAndDeregister();
+                inFlight.release();
+            }
+        });
+    }
+
+    /**
+     * Parses and validates the rows of a chunk, inserts the valid ones and writes the others to
+     * the rejects file.
+     *
+     * @throws IOException Thrown if the rejected rows could not be written
+     */
+    private void processChunk(List<String> chunk, long firstLine, BufferedWriter rejectWriter, AtomicInteger imported,
+                              AtomicInteger rejected) throws IOException {
+        List<T> valid = new ArrayList<>(chunk.size());
+        List<Integer> validIndexes = new ArrayList<>(chunk.size());
+        List<String> rejects = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            String line = chunk.get(i);
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                T item = parseRow(line);
+                validator.validate(item);
+                valid.add(item);
+                validIndexes.add(i);
+            } catch (NumberFormatException e) {
+                rejects.add(reject(firstLine + i, "Invalid number " + e.getMessage(), line));
+            } catch (IllegalArgumentException | NullPointerException e) {
+                rejects.add(reject(firstLine + i, e.getMessage(), line));
+            }
+        }
+        if (!valid.isEmpty()) {
+            imported.addAndGet(insert(valid, validIndexes, chunk, firstLine, rejects));
+        }
+        if (!rejects.isEmpty()) {
+            synchronized (rejectWriter) {
+                for (String reject : rejects) {
+                    rejectWriter.write(reject);
+                    rejectWriter.newLine();
+                }
+            }
+            rejected.addAndGet(rejects.size());
+        }
+    }
+
+    /**
+     * Inserts the valid rows of a chunk. If the batch fails on a row, that row is rejected and the
+     * others are inserted again without it. If the failing row is not known, the rows are split
+     * in halves which are inserted on their own, until the bad rows are isolated.
+     *
+     * @param items The valid rows
+     * @param indexes Index in the chunk of every valid row
+     * @return The number of rows inserted
+     */
+    private int insert(List<T> items, List<Integer> indexes, List<String> chunk, long firstLine, List<String> rejects) {
+        items = new ArrayList<>(items);
+        indexes = new ArrayList<>(indexes);
+        while (!items.isEmpty()) {
+            BatchResult result;
+            try {
+                result = writer.apply(items);
+            } catch (RuntimeException e) {
+                result = null;
+            }
+            if (result != null && result.isCommitted()) {
+                return result.getAppliedCount();
+            }
+            String reason = result != null ? result.getErrorMessage() : "The rows could not be inserted";
+            int failed = result != null ? failedRow(result) : -1;
+            if (items.size() == 1) {
+                failed = 0;
+            }
+            if (failed < 0) {
+                int half = items.size() / 2;
+                return insert(items.subList(0, half), indexes.subList(0, half), chunk, firstLine, rejects)
+                        + insert(items.subList(half, items.size()), indexes.subList(half, items.size()), chunk, firstLine, rejects);
+            }
+            int index = indexes.remove(failed);
+            items.remove(failed);
+            rejects.add(reject(firstLine + index, reason, chunk.get(index)));
+        }
+        return 0;
+    }
+
+    /**
+     * @return Index of the row which broke the batch, or -1 if it is not known, including when
+     * the driver marked several rows as failed
+     */
+    private static int failedRow(BatchResult result) {
+        List<BatchResult.Outcome> outcomes = result.getOutcomes();
+        int failed = outcomes.indexOf(BatchResult.Outcome.FAILED);
+        return failed == outcomes.lastIndexOf(BatchResult.Outcome.FAILED) ? failed : -1;
+    }
+
+    private T parseRow(String line) {
+        String[] fields = split(line);
+        if (fields.length != columns.length) {
+            throw new IllegalArgumentException("Expected " + columns.length + " fields but found " + fields.length);
+        }
+        for (String field : fields) {
+            if (field.isEmpty()) {
+                throw new IllegalArgumentException("Please fill in all the fields");
+            }
+        }
+        return parser.parse(fields);
+    }
+
+    private boolean isHeader(String line) {
+        String[] fields = split(line);
+        return fields.length > 0 && fields[0].trim().equalsIgnoreCase(columns[0]);
+    }
+
+    private static String reject(long lineNumber, String reason, String line) {
+        String message = reason == null ? "" : reason.replace("\n", " ").replace("\"", "\"\"");
+        return lineNumber + ",\"" + message + "\"," + line;
+    }
+
+    /**
+     * Splits a CSV line in fields. Quoted fields may contain commas and doubled quotes.
+     *
+     * @param line The line
+     * @return The fields, without the enclosing quotes
+     */
+    static String[] split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields.toArray(new String[0]);
+    }
+}
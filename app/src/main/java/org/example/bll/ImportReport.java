@@ -0,0 +1,49 @@
+package org.example.bll;
+
+import java.nio.file.Path;
+
+/**
+ * The result of a CSV import: how many rows were imported and rejected, and where the rejected
+ * rows were written.
+ *
+ * @author Stoica Irina
+ * @since Oct 18, 2026
+ */
+public class ImportReport {
+
+    private final int importedCount;
+    private final int rejectedCount;
+    private final Path rejectsFile;
+
+    public ImportReport(int importedCount, int rejectedCount, Path rejectsFile) {
+        this.importedCount = importedCount;
+        this.rejectedCount = rejectedCount;
+        this.rejectsFile = rejectsFile;
+    }
+
+    /**
+     * @return Number of rows inserted in the database
+     */
+    public int getImportedCount() {
+        return importedCount;
+    }
+
+    /**
+     * @return Number of rows written to the rejects file
+     */
+    public int getRejectedCount() {
+        return rejectedCount;
+    }
+
+    /**
+     * @return The file with the rejected rows, their line numbers and the reasons
+     */
+    public Path getRejectsFile() {
+        return rejectsFile;
+    }
+
+    @Override
+    public String toString() {
+        return importedCount + " rows imported, " + rejectedCount + " rejected";
+    }
+}
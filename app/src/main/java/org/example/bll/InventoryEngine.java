@@ -0,0 +1,396 @@
+package org.example.bll;
+
+import org.example.dao.ProductDAO;
+import org.example.dao.Transaction;
+import org.example.model.Product;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the available quantity of every product in memory, so orders can reserve stock with a
+ * compare-and-set on a counter instead of a row lock in the database. The reserved quantities
+ * are written to the Product table in the background, as batches of stock updates, and the
+ * counters are loaded from the table when the engine starts.
+ * <p>
+ * The engine is enabled with the ordermanagement.inventory.enabled system property. It assumes
+ * it is the only writer of the stock, so it must not be enabled when several instances of the
+ * application share the database. For every product, the counter plus the quantity waiting to
+ * be written is equal to the quantity stored in the table.
+ * <p>
+ * The orders accepted through the {@link OrderLog} are reserved separately: their stock is
+ * taken out of the table by the {@link OrderLogReplayer}, in the transaction which saves the
+ * order, so the engine never writes it and a crash cannot lose it. Until the replayer saved them,
+ * the counter is also short of these reservations.
+ *
+ * @author Stoica Irina
+ * @since Oct 18, 2026
+ */
+public final class InventoryEngine {
+
+    private static final Logger LOGGER = Logger.getLogger(InventoryEngine.class.getName());
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("ordermanagement.inventory.enabled", "false"));
+    private static final long FLUSH_INTERVAL = Long.getLong("ordermanagement.inventory.flushIntervalMillis", 50L);
+
+    private static volatile InventoryEngine instance;
+
+    private final ProductDAO productDAO = new ProductDAO();
+    private final Map<Integer, AtomicInteger> available = new ConcurrentHashMap<>();
+    private final Map<Integer, AtomicInteger> pending = new ConcurrentHashMap<>();
+    private final Map<Integer, AtomicInteger> logged = new ConcurrentHashMap<>();
+    private final Map<Integer, AtomicInteger> oversold = new ConcurrentHashMap<>();
+    private final Object flushLock = new Object();
+    private final ScheduledExecutorService flusher;
+
+    private InventoryEngine() {
+        load();
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "inventory-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, FLUSH_INTERVAL, FLUSH_INTERVAL, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns the engine, loading the stock of all the products the first time it is used.
+     *
+     * @return The inventory engine, or null if it is disabled
+     */
+    public static InventoryEngine getInstance() {
+        if (!ENABLED) {
+            return null;
+        }
+        InventoryEngine engine = instance;
+        if (engine == null) {
+            synchronized (InventoryEngine.class) {
+                engine = instance;
+                if (engine == null) {
+                    engine = new InventoryEngine();
+                    instance = engine;
+                }
+            }
+        }
+        return engine;
+    }
+
+    /**
+     * Writes the reservations which were not written yet and stops the background flushes.
+     * Does nothing if the engine was never started.
+     */
+    public static void shutdown() {
+        InventoryEngine engine = instance;
+        if (engine != null) {
+            engine.flusher.shutdown();
+            try {
+                engine.flusher.awaitTermination(FLUSH_INTERVAL * 10, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            engine.flush();
+        }
+    }
+
+    /**
+     * Loads the stock of all the products. If the table cannot be read, the products are loaded
+     * one by one when they are first used.
+     */
+    private void load() {
+        try (Stream<Product> products = productDAO.streamAll()) {
+            products.forEach(product -> available.put(product.getId(), new AtomicInteger(product.getQuantity())));
+        } catch (IllegalStateException e) {
+            LOGGER.log(Level.WARNING, "The inventory could not be loaded " + e.getMessage());
+        }
+        LOGGER.log(Level.INFO, "Inventory loaded for " + available.size() + " products");
+    }
+
+    /**
+     * Takes the given quantity out of the stock of a product, if enough of it is left. Products
+     * added after the engine started are loaded from the table the first time they are used.
+     *
+     * @param productId Id of the product
+     * @param quantity Quantity to be reserved
+     * @return true if the stock was reserved, false if the product does not exist or there is
+     * not enough stock
+     */
+    public boolean reserve(int productId, int quantity) {
+        AtomicInteger counter = counterFor(productId);
+        if (counter == null) {
+            return false;
+        }
+        int current;
+        do {
+            current = counter.get();
+            if (current < quantity) {
+                return false;
+            }
+        } while (!counter.compareAndSet(current, current - quantity));
+        pendingFor(productId).addAndGet(quantity);
+        return true;
+    }
+
+    /**
+     * Reserves stock like {@link #reserve(int, int)} for an order appended to the
+     * {@link OrderLog}. The reservation is not written by the engine: the replayer takes the
+     * quantity out of the table when it saves the order, and then calls
+     * {@link #replayed(int, int, boolean)}.
+     *
+     * @param productId Id of the product
+     * @param quantity Quantity to be reserved
+     * @return true if the stock was reserved, false if the product does not exist or there is
+     * not enough stock
+     */
+    public boolean reserveForLog(int productId, int quantity) {
+        AtomicInteger counter = counterFor(productId);
+        if (counter == null) {
+            return false;
+        }
+        int current;
+        do {
+            current = counter.get();
+            if (current < quantity) {
+                return false;
+            }
+        } while (!counter.compareAndSet(current, current - quantity));
+        loggedFor(productId).addAndGet(quantity);
+        return true;
+    }
+
+    /**
+     * Tells the engine that the replayer took the quantity of a logged order out of the table.
+     * The part reserved by {@link #reserveForLog(int, int)} is settled; the rest, for orders
+     * logged before the engine started or without it, is taken out of the counter, which was
+     * loaded before the table changed.
+     *
+     * @param productId Id of the product
+     * @param quantity Quantity of the order
+     * @param reserved true if the order was reserved by the engine when it was logged
+     */
+    public void replayed(int productId, int quantity, boolean reserved) {
+        int settled = reserved ? take(loggedFor(productId), quantity) : 0;
+        AtomicInteger counter = available.get(productId);
+        if (counter != null && settled < quantity) {
+            counter.addAndGet(settled - quantity);
+        }
+    }
+
+    /**
+     * Puts back the stock of a logged order which the replayer refused.
+     *
+     * @param productId Id of the product
+     * @param quantity Quantity which was reserved
+     */
+    public void releaseForLog(int productId, int quantity) {
+        int released = take(loggedFor(productId), quantity);
+        AtomicInteger counter = available.get(productId);
+        if (counter != null) {
+            counter.addAndGet(released);
+        }
+    }
+
+    /**
+     * Takes up to the given quantity out of a counter of reservations.
+     *
+     * @return The quantity taken
+     */
+    private static int take(AtomicInteger reservations, int quantity) {
+        int current;
+        int taken;
+        do {
+            current = reservations.get();
+            taken = Math.min(current, quantity);
+        } while (!reservations.compareAndSet(current, current - taken));
+        return taken;
+    }
+
+    /**
+     * Puts back the stock of a reservation whose order could not be saved.
+     *
+     * @param productId Id of the product
+     * @param quantity Quantity which was reserved
+     */
+    public void release(int productId, int quantity) {
+        AtomicInteger counter = available.get(productId);
+        if (counter != null) {
+            counter.addAndGet(quantity);
+            pendingFor(productId).addAndGet(-quantity);
+        }
+    }
+
+    /**
+     * @param productId Id of the product
+     * @return The quantity which can still be reserved, or -1 if the product does not exist
+     */
+    public int getAvailable(int productId) {
+        AtomicInteger counter = counterFor(productId);
+        return counter != null ? counter.get() : -1;
+    }
+
+    /**
+     * Updates a product in the table and moves its counter by the difference between the new
+     * quantity and the stored one, so the reservations which were not written yet are kept.
+     *
+     * @param product The product with its new fields
+     * @throws SQLException Thrown if the product does not exist or could not be updated
+     */
+    public void update(Product product) throws SQLException {
+        synchronized (flushLock) {
+            int stored;
+            try {
+                stored = productDAO.findById(product.getId()).getQuantity();
+            } catch (NoSuchElementException e) {
+                throw new SQLException("The product with id = " + product.getId() + " was not found!", e);
+            }
+            Transaction.execute(() -> {
+                if (!productDAO.update(product)) {
+                    throw new SQLException("The product with id = " + product.getId() + " was not found!");
+                }
+                return null;
+            });
+            AtomicInteger counter = available.get(product.getId());
+            if (counter != null) {
+                counter.addAndGet(product.getQuantity() - stored);
+            }
+        }
+    }
+
+    /**
+     * Forgets a product which was deleted from the table.
+     *
+     * @param productId Id of the product
+     */
+    public void remove(int productId) {
+        synchronized (flushLock) {
+            available.remove(productId);
+            pending.remove(productId);
+            logged.remove(productId);
+        }
+    }
+
+    /**
+     * @param productId Id of the product
+     * @return The quantity of the product which was sold by the engine but could not be taken
+     * out of the table, because its stock was lowered outside the engine in the meantime
+     */
+    public int getOversold(int productId) {
+        AtomicInteger counter = oversold.get(productId);
+        return counter != null ? counter.get() : 0;
+    }
+
+    /**
+     * Writes the reserved quantities to the table as a single batch of stock updates, in one
+     * transaction. If the batch fails, it is rolled back and the quantities are kept and written
+     * by the next flush. A product whose update changed no row had its stock lowered outside the
+     * engine: see {@link #settleUnapplied(int, int)}.
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            List<Integer> ids = new ArrayList<>();
+            List<Integer> deltas = new ArrayList<>();
+            pending.forEach((productId, delta) -> {
+                int value = delta.getAndSet(0);
+                if (value != 0) {
+                    ids.add(productId);
+                    deltas.add(value);
+                }
+            });
+            if (ids.isEmpty()) {
+                return;
+            }
+            int[] productIds = ids.stream().mapToInt(Integer::intValue).toArray();
+            int[] quantities = deltas.stream().mapToInt(Integer::intValue).toArray();
+            int[] counts;
+            try {
+                counts = Transaction.execute(() -> productDAO.decrementStockAll(productIds, quantities));
+            } catch (SQLException e) {
+                counts = null;
+            }
+            if (counts == null) {
+                for (int i = 0; i < productIds.length; i++) {
+                    pendingFor(productIds[i]).addAndGet(quantities[i]);
+                }
+                return;
+            }
+            for (int i = 0; i < productIds.length; i++) {
+                if (i >= counts.length || counts[i] == 0) {
+                    settleUnapplied(productIds[i], quantities[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Settles a reserved quantity which the table could not take, because the stock stored is
+     * lower than it. What is left of the stock is taken out, the rest is counted as oversold and
+     * logged once, and the counter is reloaded, so the same quantity is not tried again. If the
+     * stock cannot be taken out, the quantity waits for the next flush.
+     */
+    private void settleUnapplied(int productId, int quantity) {
+        int stored;
+        try {
+            stored = productDAO.findById(productId).getQuantity();
+        } catch (NoSuchElementException e) {
+            LOGGER.log(Level.WARNING, "Product " + productId + " was deleted with " + quantity + " reserved which was not written");
+            remove(productId);
+            return;
+        }
+        int applicable = quantity < 0 ? quantity : Math.min(stored, quantity);
+        if (applicable != 0 && !productDAO.decrementStock(productId, applicable)) {
+            pendingFor(productId).addAndGet(quantity);
+            return;
+        }
+        int missing = quantity - applicable;
+        if (missing > 0) {
+            oversold.computeIfAbsent(productId, id -> new AtomicInteger()).addAndGet(missing);
+            LOGGER.log(Level.SEVERE, "The stock of product " + productId + " was lowered outside the inventory engine, "
+                    + missing + " were sold which are not in the table");
+        }
+        reload(productId);
+    }
+
+    private void reload(int productId) {
+        AtomicInteger counter = available.get(productId);
+        try {
+            Product product = productDAO.findById(productId);
+            if (counter != null) {
+                counter.set(product.getQuantity() - pendingFor(productId).get() - loggedFor(productId).get());
+            }
+        } catch (NoSuchElementException e) {
+            remove(productId);
+        }
+    }
+
+    private AtomicInteger counterFor(int productId) {
+        AtomicInteger counter = available.get(productId);
+        if (counter != null) {
+            return counter;
+        }
+        try {
+            Product product = productDAO.findById(productId);
+            AtomicInteger loaded = new AtomicInteger(product.getQuantity());
+            counter = available.putIfAbsent(productId, loaded);
+            return counter != null ? counter : loaded;
+        } catch (NoSuchElementException e) {
+            return null;
+        }
+    }
+
+    private AtomicInteger pendingFor(int productId) {
+        return pending.computeIfAbsent(productId, id -> new AtomicInteger());
+    }
+
+    private AtomicInteger loggedFor(int productId) {
+        return logged.computeIfAbsent(productId, id -> new AtomicInteger());
+    }
+}
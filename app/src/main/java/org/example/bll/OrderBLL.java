@@ -0,0 +1,321 @@
+package org.example.bll;
+
+import org.example.bll.bills.Bill;
+import org.example.bll.bills.BillWriter;
+import org.example.bll.events.EventBus;
+import org.example.bll.sales.SalesAggregates;
+import org.example.bll.store.OrderStore;
+import org.example.bll.validators.QuantityValidator;
+import org.example.bll.validators.Validator;
+import org.example.dao.OrderDAO;
+import org.example.dao.ProductDAO;
+import org.example.dao.Transaction;
+import org.example.model.Client;
+import org.example.model.Orders;
+import org.example.model.Product;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.LongConsumer;
+
+/**
+ * Contains the business logic part of the application that has to do with the orders.
+ *
+ * @author Stoica Irina
+ * @since Apr 12, 2022
+ */
+
+public class OrderBLL {
+
+    private final Validator<Orders> validator;
+    private final OrderDAO orderDAO;
+    private final ProductDAO productDAO;
+    private final InventoryEngine inventory;
+    private final OrderPipeline pipeline;
+    private final BillWriter billWriter;
+    private final OrderLog orderLog;
+    private final EventBus eventBus;
+    private final SalesAggregates sales;
+    private final OrderStore orderStore;
+
+    public OrderBLL(){
+        validator = new QuantityValidator();
+        orderDAO = new OrderDAO();
+        productDAO = new ProductDAO();
+        inventory = InventoryEngine.getInstance();
+        pipeline = OrderPipeline.getInstance();
+        billWriter = BillWriter.getInstance();
+        orderLog = OrderLog.getInstance();
+        eventBus = EventBus.getInstance();
+        sales = SalesAggregates.getInstance();
+        orderStore = OrderStore.getInstance();
+    }
+
+    /**
+     * Tries to create an order with the given client, product and quantity. If the client or product
+     * are null, and IllegalArgumentException is thrown. Otherwise it takes the quantity out of the
+     * stock of the product in the database, in a single atomic update which fails if not enough is
+     * left, and throws again an exception in that case. The stock update and the insert of the
+     * order run in a single transaction, so either both are saved or neither is. When the
+     * {@link InventoryEngine} is enabled, the stock is reserved in memory instead, and when the
+     * {@link OrderPipeline} is enabled, the order is saved together with other waiting orders.
+     * When the {@link OrderLog} is enabled, the order is accepted as soon as it is in the log and
+     * saved in the database in the background. Once the order was saved, the subscribers of the
+     * {@link EventBus} are told about it, it is counted in the {@link SalesAggregates} and its bill
+     * is handed to the {@link BillWriter}, which writes it in the background.
+     *
+     * @param client Client of the order
+     * @param product Product of the order
+     * @param quantityString Quantity of Product for the order
+     * @throws IllegalArgumentException Thrown when the client or product do not exist, or the order
+     * could not be saved.
+     */
+    public void addOrder(Client client, Product product, String quantityString) throws IllegalArgumentException, NullPointerException {
+        Orders order = createOrder(client, product, quantityString);
+        if(orderLog != null){
+            logOrder(order, client, product);
+            return;
+        }
+        if(pipeline != null){
+            try {
+                submitOrder(client, product, order).join();
+            } catch(CompletionException e){
+                if(e.getCause() instanceof RuntimeException){
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+            return;
+        }
+        try {
+            saveOrder(order);
+        } catch(SQLException e){
+            throw new IllegalArgumentException("The order could not be saved.\n" + e.getMessage());
+        }
+        billWriter.submit(Bill.of(order, client, product));
+        recordSale(order, product);
+        publishOrderPlaced(order);
+    }
+
+    /**
+     * Helper function which accepts an order by appending it to the {@link OrderLog}. The stock
+     * is reserved in the inventory engine first, which the order log requires, so an
+     * under-stocked order is refused at once. The stock is taken out of the table by the
+     * replayer, in the transaction which saves the order, and the bill is written once the order
+     * was saved. An order the replayer refuses later is published as ORDER_REFUSED.
+     *
+     * @param order Order to be accepted
+     * @param client Client of the order
+     * @param product Product of the order
+     */
+    private void logOrder(Orders order, Client client, Product product){
+        if(!inventory.reserveForLog(order.getProductId(), order.getQuantity())){
+            throw underStocked(order.getProductId());
+        }
+        try {
+            orderLog.append(order.getClientId(), order.getProductId(), order.getQuantity(), true,
+                    Bill.of(order, client, product));
+        } catch(IOException e){
+            inventory.releaseForLog(order.getProductId(), order.getQuantity());
+            throw new IllegalArgumentException("The order could not be saved.\n" + e.getMessage());
+        }
+    }
+
+    /**
+     * Validates an order like {@link #addOrder(Client, Product, String)}, but does not wait for
+     * it to be saved: the order is handed to the {@link OrderPipeline}, which saves it together
+     * with the other waiting orders. The bill is written once the order was saved.
+     *
+     * @param client Client of the order
+     * @param product Product of the order
+     * @param quantityString Quantity of Product for the order
+     * @return A future completed with the saved order, or failed with an
+     * IllegalArgumentException if it was refused
+     * @throws IllegalArgumentException Thrown when the order is not valid, the pipeline is
+     * disabled or too many orders are waiting
+     */
+    public CompletableFuture<Orders> submitOrder(Client client, Product product, String quantityString) throws IllegalArgumentException, NullPointerException {
+        if(pipeline == null){
+            throw new IllegalArgumentException("The order pipeline is not enabled");
+        }
+        return submitOrder(client, product, createOrder(client, product, quantityString));
+    }
+
+    private CompletableFuture<Orders> submitOrder(Client client, Product product, Orders order){
+        try {
+            return pipeline.submit(order).thenApply(saved -> {
+                billWriter.submit(Bill.of(saved, client, product));
+                recordSale(saved, product);
+                return saved;
+            });
+        } catch(RejectedExecutionException e){
+            throw new IllegalArgumentException("The order could not be saved.\n" + e.getMessage());
+        }
+    }
+
+    /**
+     * Helper function which checks the fields of an order and creates it.
+     *
+     * @param client Client of the order
+     * @param product Product of the order
+     * @param quantityString Quantity of Product for the order
+     * @return The validated order
+     */
+    private Orders createOrder(Client client, Product product, String quantityString){
+        if(client == null){
+            throw new IllegalArgumentException("Please select a client");
+        }
+        if(product == null){
+            throw new IllegalArgumentException("Please select a product");
+        }
+        try {
+            Integer quantity = Integer.parseInt(quantityString);
+            Orders order = new Orders(client.getId(), product.getId(), quantity);
+            validator.validate(order);
+            return order;
+        } catch(NumberFormatException e){
+            throw new NullPointerException("Please enter quantity");
+        }
+    }
+
+    /**
+     * Helper function which reserves the stock and saves the order. With the inventory engine,
+     * the stock is reserved in memory and given back if the order cannot be saved. Otherwise the
+     * stock update and the insert of the order run in a single transaction.
+     *
+     * @param order Order to be saved
+     * @throws SQLException Thrown if the order could not be saved
+     */
+    private void saveOrder(Orders order) throws SQLException {
+        if(inventory == null){
+            Transaction.execute(() -> {
+                reserveStock(order);
+                orderDAO.insert(order);
+                return null;
+            });
+            return;
+        }
+        reserveInMemory(order);
+        try {
+            Transaction.execute(() -> {
+                orderDAO.insert(order);
+                return null;
+            });
+        } catch(SQLException e){
+            inventory.release(order.getProductId(), order.getQuantity());
+            throw e;
+        }
+    }
+
+    /**
+     * Helper function which counts a saved order in the {@link SalesAggregates}, at the price
+     * the product had when it was ordered.
+     *
+     * @param order The saved order
+     * @param product Product of the order
+     */
+    private void recordSale(Orders order, Product product){
+        if(sales != null){
+            sales.record(order.getId(), order.getClientId(), order.getProductId(), order.getQuantity(), product.getPrice(),
+                    LocalDate.now());
+        }
+    }
+
+    /**
+     * Helper function which tells the subscribers of the {@link EventBus} that an order was saved
+     * and the stock of its product changed.
+     *
+     * @param order The saved order
+     */
+    private void publishOrderPlaced(Orders order){
+        eventBus.publishOrderPlaced(order.getId(), order.getClientId(), order.getProductId(), order.getQuantity());
+        eventBus.publishStockChanged(order.getProductId(), inventory != null ? inventory.getAvailable(order.getProductId()) : -1);
+    }
+
+    /**
+     * Helper function which reserves the order quantity in the {@link InventoryEngine}.
+     *
+     * @param order Order to reserve the stock for
+     * @throws IllegalArgumentException Thrown when available quantity of product is not enough
+     */
+    private void reserveInMemory(Orders order) throws IllegalArgumentException{
+        if(!inventory.reserve(order.getProductId(), order.getQuantity())){
+            throw underStocked(order.getProductId());
+        }
+    }
+
+    private IllegalArgumentException underStocked(int productId){
+        int available = inventory.getAvailable(productId);
+        if(available < 0){
+            return new IllegalArgumentException("The selected product no longer exists.");
+        }
+        return new IllegalArgumentException("Under-stocked item!\nOnly " + available + " left.");
+    }
+
+    /**
+     * Helper function which takes the order quantity out of the stock of the product in the
+     * database. The product given by the interface may be outdated, so the available quantity
+     * is checked by the database update itself.
+     *
+     * @param orders Order to reserve the stock for
+     * @throws IllegalArgumentException Thrown when available quantity of product is not enough
+     */
+    private void reserveStock(Orders orders) throws IllegalArgumentException{
+        if(!productDAO.decrementStock(orders.getProductId(), orders.getQuantity())){
+            Product current;
+            try {
+                current = productDAO.findById(orders.getProductId());
+            } catch(NoSuchElementException e){
+                throw new IllegalArgumentException("The selected product no longer exists.");
+            }
+            throw new IllegalArgumentException("Under-stocked item!\nOnly " + current.getQuantity() + " left.");
+        }
+    }
+
+    /**
+     * Searches for the order with the given id. When the {@link OrderStore} is enabled, the order
+     * is read from the store instead of the database.
+     *
+     * @param id Id of the order
+     * @return The order
+     * @throws NoSuchElementException Thrown when no order has the id
+     */
+    public Orders findOrderById(int id) throws NoSuchElementException {
+        if(orderStore != null){
+            Orders order = orderStore.find(id);
+            if(order != null){
+                return order;
+            }
+        }
+        Orders order = orderDAO.findById(id);
+        if(order == null){
+            throw new NoSuchElementException("The order with id = " + id + " was not found!");
+        }
+        return order;
+    }
+
+    /**
+     * Exports all the orders to a file, streaming them from the database so the table is never
+     * loaded in memory.
+     *
+     * @param target The file, which is replaced if it exists
+     * @param format CSV or JSON Lines
+     * @param gzip true to compress the file with gzip
+     * @param progress Called with the number of orders written so far, or null
+     * @return The number of orders exported
+     * @throws IllegalArgumentException Thrown if the export fails
+     */
+    public long exportOrders(Path target, TableExporter.Format format, boolean gzip, LongConsumer progress) throws IllegalArgumentException {
+        try {
+            return TableExporter.export(orderDAO, target, format, gzip, progress);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot export orders.\n" + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,497 @@
+package org.example.bll;
+
+import org.example.bll.bills.Bill;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * A write-ahead log of the accepted orders. An order is appended to the log file and is
+ * accepted once the file was forced to the disk; the {@link OrderLogReplayer} then saves it in
+ * the database, so orders are not lost when the database is slow or down, nor when the
+ * application stops before they were saved.
+ * <p>
+ * The file starts with a header holding the first sequence number of the file, followed by the
+ * records. Every record is made of its length, the CRC32 of its body and the body: the sequence
+ * number, the ids and quantity of the order, whether its stock was already reserved in memory
+ * and its bill. Appends from several threads share the forces of a syncer thread, which waits
+ * {@code syncDelayMillis} after the first append to collect more of them. When all the records
+ * were replayed and the file is large enough, it is emptied.
+ * <p>
+ * If a force fails, the records which were not forced yet are cut off the file and their appends
+ * fail, so an order refused to its caller is never replayed; the following appends force the
+ * file again. If the file cannot be cut back, the log is closed and refuses all appends.
+ *
+ * @author Stoica Irina
+ * @since Oct 18, 2026
+ */
+public final class OrderLog {
+
+    /**
+     * An append waiting for its record to be forced to the disk.
+     */
+    private static final class Append {
+        private final long end;
+        private boolean durable;
+        private IOException failure;
+
+        private Append(long end) {
+            this.end = end;
+        }
+    }
+
+    /**
+     * An order read back from the log.
+     */
+    public static final class Entry {
+        private final long sequence;
+        private final int clientId;
+        private final int productId;
+        private final int quantity;
+        private final boolean stockReserved;
+        private final Bill bill;
+        private final long nextPosition;
+
+        private Entry(long sequence, int clientId, int productId, int quantity, boolean stockReserved, Bill bill,
+                      long nextPosition) {
+            this.sequence = sequence;
+            this.clientId = clientId;
+            this.productId = productId;
+            this.quantity = quantity;
+            this.stockReserved = stockReserved;
+            this.bill = bill;
+            this.nextPosition = nextPosition;
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+
+        public int getClientId() {
+            return clientId;
+        }
+
+        public int getProductId() {
+            return productId;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+
+        /**
+         * @return true if the stock was reserved by the {@link InventoryEngine} when the order
+         * was accepted, so it must not be taken out of the table again
+         */
+        public boolean isStockReserved() {
+            return stockReserved;
+        }
+
+        public Bill getBill() {
+            return bill;
+        }
+
+        /**
+         * @return Position of the record which follows this one
+         */
+        public long getNextPosition() {
+            return nextPosition;
+        }
+    }
+
+    private static final Logger LOGGER = Logger.getLogger(OrderLog.class.getName());
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("ordermanagement.orderlog.enabled", "false"));
+    private static final String DIRECTORY = System.getProperty("ordermanagement.orderlog.directory", "order-log");
+    private static final long SYNC_DELAY = Long.getLong("ordermanagement.orderlog.syncDelayMillis", 2L);
+    private static final long COMPACT_SIZE = Long.getLong("ordermanagement.orderlog.compactSize", 16L * 1024 * 1024);
+    private static final int MAGIC = 0x4F524C47;
+    static final int HEADER_SIZE = Integer.BYTES + Long.BYTES;
+    private static final int RECORD_HEADER_SIZE = 2 * Integer.BYTES;
+    private static final int ENTRY_FIELDS_SIZE = Long.BYTES + 3 * Integer.BYTES + 1;
+
+    private static volatile OrderLog instance;
+    private static OrderLogReplayer replayer;
+
+    private final FileChannel channel;
+    private final long syncDelayMillis;
+    private final long compactSize;
+    private final Thread syncer;
+    private long nextSequence;
+    private long writePosition;
+    private long durablePosition;
+    private final ArrayDeque<Append> unsynced = new ArrayDeque<>();
+    private IOException failure;
+    private boolean running = true;
+
+    /**
+     * Opens the log file, creating it if needed. A torn record at the end of the file, left by a
+     * crash during an append, is cut off.
+     *
+     * @param file The log file
+     * @param syncDelayMillis Time the syncer waits for more appends before forcing the file
+     * @param compactSize Size above which the file is emptied once all its records were replayed
+     * @throws IOException Thrown if the file cannot be opened or is not an order log
+     */
+    public OrderLog(Path file, long syncDelayMillis, long compactSize) throws IOException {
+        this.syncDelayMillis = syncDelayMillis;
+        this.compactSize = compactSize;
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (channel.size() < HEADER_SIZE) {
+            writeHeader(1);
+            nextSequence = 1;
+            writePosition = HEADER_SIZE;
+        } else {
+            recover();
+        }
+        channel.truncate(writePosition);
+        channel.force(true);
+        durablePosition = writePosition;
+        syncer = new Thread(this::sync, "order-log-syncer");
+        syncer.setDaemon(true);
+        syncer.start();
+    }
+
+    /**
+     * Returns the order log of the application, opening it and starting its replayer the first
+     * time it is used. The log needs the {@link InventoryEngine}, which checks the stock of an
+     * order before it is accepted.
+     *
+     * @return The order log, or null if it is disabled, the inventory engine is disabled or the
+     * log cannot be opened
+     */
+    public static OrderLog getInstance() {
+        if (!ENABLED) {
+            return null;
+        }
+        OrderLog log = instance;
+        if (log == null) {
+            synchronized (OrderLog.class) {
+                log = instance;
+                if (log == null) {
+                    if (InventoryEngine.getInstance() == null) {
+                        LOGGER.log(Level.SEVERE, "The order log needs the inventory engine, enable it with ordermanagement.inventory.enabled");
+                        return null;
+                    }
+                    try {
+                        log = new OrderLog(Paths.get(DIRECTORY, "orders.wal"), SYNC_DELAY, COMPACT_SIZE);
+                    } catch (IOException e) {
+                        LOGGER.log(Level.SEVERE, "Could not open the order log " + e.getMessage());
+                        return null;
+                    }
+                    replayer = new OrderLogReplayer(log);
+                    replayer.start();
+                    instance = log;
+                }
+            }
+        }
+        return log;
+    }
+
+    /**
+     * Stops the replayer and closes the order log of the application. The orders which were not
+     * replayed yet are replayed when the log is opened again. Does nothing if it was never opened.
+     */
+    public static void shutdown() {
+        OrderLog log = instance;
+        if (log != null) {
+            replayer.stop();
+            log.close();
+        }
+    }
+
+    private void writeHeader(long baseSequence) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putLong(baseSequence).flip();
+        writeFully(header, 0);
+        channel.force(true);
+    }
+
+    private void recover() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        readFully(header, 0);
+        header.flip();
+        if (header.getInt() != MAGIC) {
+            throw new IOException("The file is not an order log");
+        }
+        nextSequence = header.getLong();
+        long position = HEADER_SIZE;
+        while (true) {
+            Entry entry = readAt(position, channel.size());
+            if (entry == null) {
+                break;
+            }
+            nextSequence = Math.max(nextSequence, entry.getSequence() + 1);
+            position = entry.getNextPosition();
+        }
+        if (position < channel.size()) {
+            LOGGER.log(Level.WARNING, "The order log ends with an incomplete record at " + position + ", it was removed");
+        }
+        writePosition = position;
+    }
+
+    /**
+     * Appends an order to the log and waits until it was forced to the disk. Once the record was
+     * written, the wait is not cut short by interrupts, since the record could still be
+     * replayed; the interrupt status is kept.
+     *
+     * @param clientId Id of the client of the order
+     * @param productId Id of the product of the order
+     * @param quantity Quantity of the order
+     * @param stockReserved true if the stock was reserved by the {@link InventoryEngine}
+     * @param bill The bill of the order, without the order id
+     * @return The sequence number of the order
+     * @throws IOException Thrown if the order could not be written or forced to the disk, in
+     * which case it is not in the log
+     */
+    public long append(int clientId, int productId, int quantity, boolean stockReserved, Bill bill) throws IOException {
+        byte[] billBytes = bill.encode();
+        ByteBuffer body = ByteBuffer.allocate(ENTRY_FIELDS_SIZE + billBytes.length);
+        Append append;
+        long sequence;
+        synchronized (this) {
+            if (failure != null) {
+                throw new IOException("The order log was closed after a failure", failure);
+            }
+            if (!running) {
+                throw new IOException("The order log is closed");
+            }
+            sequence = nextSequence++;
+            body.putLong(sequence).putInt(clientId).putInt(productId).putInt(quantity)
+                    .put((byte) (stockReserved ? 1 : 0)).put(billBytes).flip();
+            ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + body.remaining());
+            record.putInt(body.remaining()).putInt(checksum(body.duplicate())).put(body).flip();
+            writeFully(record, writePosition);
+            writePosition += record.capacity();
+            append = new Append(writePosition);
+            unsynced.add(append);
+            notifyAll();
+        }
+        awaitDurable(append);
+        return sequence;
+    }
+
+    private synchronized void awaitDurable(Append append) throws IOException {
+        boolean interrupted = false;
+        try {
+            while (!append.durable) {
+                if (append.failure != null) {
+                    throw new IOException("The order could not be forced to the disk", append.failure);
+                }
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Forces the appended records to the disk and wakes up the threads waiting for them. The
+     * syncer only stops when the log is closed and every append was answered.
+     */
+    private void sync() {
+        while (true) {
+            synchronized (this) {
+                while (running && unsynced.isEmpty()) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        // Stopped by close only, once the waiting appends were forced
+                    }
+                }
+                if (unsynced.isEmpty()) {
+                    return;
+                }
+            }
+            if (syncDelayMillis > 0) {
+                try {
+                    TimeUnit.MILLISECONDS.sleep(syncDelayMillis);
+                } catch (InterruptedException e) {
+                    // Forces the file at once
+                }
+            }
+            long target;
+            synchronized (this) {
+                target = writePosition;
+            }
+            try {
+                channel.force(false);
+            } catch (IOException e) {
+                if (!discardUnsynced(e)) {
+                    return;
+                }
+                continue;
+            }
+            synchronized (this) {
+                durablePosition = Math.max(durablePosition, target);
+                while (!unsynced.isEmpty() && unsynced.peek().end <= target) {
+                    unsynced.poll().durable = true;
+                }
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Fails the appends which were not forced to the disk and cuts their records off the file,
+     * so they are not replayed after a restart.
+     *
+     * @param cause The failure of the force
+     * @return true if the file was cut back and the log can go on, false if it was closed
+     */
+    private synchronized boolean discardUnsynced(IOException cause) {
+        LOGGER.log(Level.SEVERE, "Could not force the order log to the disk, " + unsynced.size()
+                + " orders were refused " + cause.getMessage());
+        for (Append append : unsynced) {
+            append.failure = cause;
+        }
+        unsynced.clear();
+        notifyAll();
+        try {
+            channel.truncate(durablePosition);
+            channel.force(true);
+            writePosition = durablePosition;
+            return true;
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "The order log is closed, it could not be cut back to the forced records at "
+                    + durablePosition + " " + e.getMessage());
+            failure = e;
+            running = false;
+            return false;
+        }
+    }
+
+    /**
+     * Waits until there are records after the given position which were forced to the disk.
+     *
+     * @param position Position of the next record to be read
+     * @param timeoutMillis Maximum time to wait
+     * @return The position up to which the records can be read
+     * @throws InterruptedException Thrown if the thread is interrupted while waiting
+     */
+    synchronized long awaitRecords(long position, long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (durablePosition <= position && running) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        return durablePosition;
+    }
+
+    /**
+     * Reads the record at the given position.
+     *
+     * @param position Position of the record
+     * @param limit Position the record must end before
+     * @return The entry of the record, or null if there is no whole valid record at the position
+     * @throws IOException Thrown if the file cannot be read
+     */
+    Entry readAt(long position, long limit) throws IOException {
+        if (position + RECORD_HEADER_SIZE > limit) {
+            return null;
+        }
+        ByteBuffer recordHeader = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+        readFully(recordHeader, position);
+        recordHeader.flip();
+        int length = recordHeader.getInt();
+        int checksum = recordHeader.getInt();
+        if (length < ENTRY_FIELDS_SIZE || position + RECORD_HEADER_SIZE + length > limit) {
+            return null;
+        }
+        ByteBuffer body = ByteBuffer.allocate(length);
+        readFully(body, position + RECORD_HEADER_SIZE);
+        body.flip();
+        if (checksum(body.duplicate()) != checksum) {
+            return null;
+        }
+        long sequence = body.getLong();
+        int clientId = body.getInt();
+        int productId = body.getInt();
+        int quantity = body.getInt();
+        boolean stockReserved = body.get() != 0;
+        Bill bill = Bill.decode(body);
+        return new Entry(sequence, clientId, productId, quantity, stockReserved, bill,
+                position + RECORD_HEADER_SIZE + length);
+    }
+
+    /**
+     * Empties the log if all its records were replayed and it grew larger than the compaction
+     * size. The header is rewritten first with the next sequence number, so the numbering goes
+     * on after a crash in the middle of the compaction.
+     *
+     * @param replayedPosition Position up to which the records were replayed
+     * @return true if the log was emptied and the records start again after the header
+     * @throws IOException Thrown if the log cannot be emptied
+     */
+    synchronized boolean compact(long replayedPosition) throws IOException {
+        if (replayedPosition != writePosition || durablePosition != writePosition || writePosition < compactSize) {
+            return false;
+        }
+        writeHeader(nextSequence);
+        channel.truncate(HEADER_SIZE);
+        channel.force(true);
+        writePosition = HEADER_SIZE;
+        durablePosition = HEADER_SIZE;
+        return true;
+    }
+
+    /**
+     * Waits for the pending forces and closes the file.
+     */
+    public void close() {
+        synchronized (this) {
+            running = false;
+            notifyAll();
+        }
+        try {
+            syncer.join();
+            channel.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not close the order log " + e.getMessage());
+        }
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException("Unexpected end of the order log");
+            }
+            position += read;
+        }
+    }
+
+    private static int checksum(ByteBuffer body) {
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,201 @@
+package org.example.bll;
+
+import org.example.bll.bills.BillWriter;
+import org.example.bll.events.EventBus;
+import org.example.bll.sales.SalesAggregates;
+import org.example.dao.CheckpointDAO;
+import org.example.dao.OrderDAO;
+import org.example.dao.ProductDAO;
+import org.example.dao.Transaction;
+import org.example.model.Orders;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Saves the orders of the {@link OrderLog} in the database, in the order they were accepted.
+ * Every order is saved in its own transaction together with the checkpoint of the log, the
+ * sequence number of the last order saved, so an order is skipped if it was already saved
+ * before a restart. While the database is unavailable, the replayer retries the same order with
+ * a growing delay.
+ * <p>
+ * The stock of every order is taken out of the table in the same transaction, also for the
+ * orders reserved by the {@link InventoryEngine} when they were logged, so the stock change is as
+ * durable as the log. An order is refused if its product has not enough stock left or it breaks
+ * a constraint of the table, for example because its client was deleted in the meantime.
+ * Refused orders are skipped and published as ORDER_REFUSED on the {@link EventBus}, so the
+ * order view can tell the user that an order which was accepted will not be saved.
+ *
+ * @author Stoica Irina
+ * @since Oct 18, 2026
+ */
+public class OrderLogReplayer {
+
+    private static final Logger LOGGER = Logger.getLogger(OrderLogReplayer.class.getName());
+    private static final String CHECKPOINT = "orders";
+    private static final long POLL_TIMEOUT_MILLIS = 500;
+    private static final long MIN_RETRY_DELAY_MILLIS = 100;
+    private static final long MAX_RETRY_DELAY_MILLIS = 30_000;
+    private static final Orders UNDER_STOCKED = new Orders(0, 0, 0);
+
+    private final OrderLog log;
+    private final OrderDAO orderDAO = new OrderDAO();
+    private final ProductDAO productDAO = new ProductDAO();
+    private final CheckpointDAO checkpointDAO = new CheckpointDAO();
+    private final InventoryEngine inventory = InventoryEngine.getInstance();
+    private final EventBus eventBus = EventBus.getInstance();
+    private final SalesAggregates sales = SalesAggregates.getInstance();
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    /**
+     * @param log The log to be replayed
+     */
+    public OrderLogReplayer(OrderLog log) {
+        this.log = log;
+        this.thread = new Thread(this::run, "order-log-replayer");
+        thread.setDaemon(true);
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    /**
+     * Stops the replayer after the order it is saving.
+     */
+    public void stop() {
+        running = false;
+        thread.interrupt();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        checkpointDAO.createTable();
+        long position = OrderLog.HEADER_SIZE;
+        try {
+            while (running) {
+                long end = log.awaitRecords(position, POLL_TIMEOUT_MILLIS);
+                while (running && position < end) {
+                    OrderLog.Entry entry = log.readAt(position, end);
+                    if (entry == null) {
+                        throw new IOException("The order log has a damaged record at " + position);
+                    }
+                    replay(entry);
+                    position = entry.getNextPosition();
+                }
+                if (log.compact(position)) {
+                    position = OrderLog.HEADER_SIZE;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "The order log replay stopped " + e.getMessage());
+        }
+    }
+
+    /**
+     * Saves an order, retrying while the database is unavailable.
+     */
+    private void replay(OrderLog.Entry entry) throws InterruptedException {
+        long delay = MIN_RETRY_DELAY_MILLIS;
+        while (true) {
+            try {
+                Orders order = Transaction.execute(() -> apply(entry));
+                if (order == UNDER_STOCKED) {
+                    refuse(entry, "product " + entry.getProductId() + " has not enough stock");
+                    return;
+                }
+                if (order != null) {
+                    if (inventory != null) {
+                        inventory.replayed(order.getProductId(), order.getQuantity(), entry.isStockReserved());
+                    }
+                    BillWriter.getInstance().submit(entry.getBill().withOrderId(order.getId()));
+                    if (sales != null) {
+                        sales.record(order.getId(), order.getClientId(), order.getProductId(), order.getQuantity(),
+                                entry.getBill().getPrice(), entry.getBill().getCreatedAt().toLocalDate());
+                    }
+                    eventBus.publishOrderPlaced(order.getId(), order.getClientId(), order.getProductId(), order.getQuantity());
+                    eventBus.publishStockChanged(order.getProductId(),
+                            inventory != null ? inventory.getAvailable(order.getProductId()) : -1);
+                }
+                return;
+            } catch (SQLIntegrityConstraintViolationException e) {
+                refuse(entry, e.getMessage());
+                return;
+            } catch (SQLException e) {
+                LOGGER.log(Level.WARNING, "Could not save order " + entry.getSequence() + " from the order log, retrying in "
+                        + delay + " ms " + e.getMessage());
+            }
+            if (!running) {
+                throw new InterruptedException();
+            }
+            Thread.sleep(delay);
+            delay = Math.min(delay * 2, MAX_RETRY_DELAY_MILLIS);
+        }
+    }
+
+    /**
+     * Takes the stock of an order out of the table and saves the order and the checkpoint, in
+     * the current transaction.
+     *
+     * @return The saved order, null if it was already saved, or UNDER_STOCKED if its product
+     * has not enough stock
+     */
+    private Orders apply(OrderLog.Entry entry) throws SQLException {
+        long checkpoint = checkpointDAO.find(CHECKPOINT);
+        if (checkpoint < 0) {
+            throw new SQLException("The checkpoint of the order log could not be read");
+        }
+        if (entry.getSequence() <= checkpoint) {
+            return null;
+        }
+        checkpointDAO.save(CHECKPOINT, entry.getSequence());
+        if (!productDAO.decrementStock(entry.getProductId(), entry.getQuantity())) {
+            return UNDER_STOCKED;
+        }
+        Orders order = new Orders(entry.getClientId(), entry.getProductId(), entry.getQuantity());
+        orderDAO.insert(order);
+        return order;
+    }
+
+    /**
+     * Skips an order which can never be saved, by saving only the checkpoint past it, and
+     * publishes the refusal.
+     */
+    private void refuse(OrderLog.Entry entry, String reason) throws InterruptedException {
+        LOGGER.log(Level.WARNING, "Order " + entry.getSequence() + " from the order log was refused " + reason);
+        if (entry.isStockReserved() && inventory != null) {
+            inventory.releaseForLog(entry.getProductId(), entry.getQuantity());
+            eventBus.publishStockChanged(entry.getProductId(), inventory.getAvailable(entry.getProductId()));
+        }
+        eventBus.publishOrderRefused(entry.getClientId(), entry.getProductId(), entry.getQuantity());
+        long delay = MIN_RETRY_DELAY_MILLIS;
+        while (true) {
+            try {
+                Transaction.execute(() -> {
+                    if (checkpointDAO.find(CHECKPOINT) < entry.getSequence()) {
+                        checkpointDAO.save(CHECKPOINT, entry.getSequence());
+                    }
+                    return null;
+                });
+                return;
+            } catch (SQLException e) {
+                LOGGER.log(Level.WARNING, "Could not save the checkpoint of the order log " + e.getMessage());
+            }
+            if (!running) {
+                throw new InterruptedException();
+            }
+            Thread.sleep(delay);
+            delay = Math.min(delay * 2, MAX_RETRY_DELAY_MILLIS);
+        }
+    }
+}
@@ -0,0 +1,401 @@
+package org.example.bll;
+
+import org.example.bll.events.EventBus;
+import org.example.dao.BatchResult;
+import org.example.dao.OrderDAO;
+import org.example.dao.ProductDAO;
+import org.example.dao.Transaction;
+import org.example.model.Orders;
+import org.example.model.Product;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Saves orders in groups instead of one transaction per order. Submitted orders wait in a
+ * bounded queue and a single writer thread takes all the waiting orders, up to a maximum group
+ * size, takes their quantities out of the stock with one batch of conditional updates, inserts
+ * them with one batch insert and commits everything once. The future of every order is then
+ * completed, or failed with the reason the order was refused. If the insert of one order fails,
+ * for example because its client was deleted, only that order is failed and the rest of the
+ * group is saved again without it.
+ * <p>
+ * The pipeline is enabled with the ordermanagement.pipeline.enabled system property. When the
+ * queue is full, callers wait for a free place or are rejected, depending on the
+ * ordermanagement.pipeline.overflow property (BLOCK or REJECT).
+ *
+ * @author Stoica Irina
+ * @since Oct 18, 2026
+ */
+public final class OrderPipeline {
+
+    /**
+     * What happens to a submitted order when the queue is full.
+     */
+    public enum OverflowPolicy {
+        /** The caller waits until there is room in the queue. */
+        BLOCK,
+        /** The order is rejected with a {@link RejectedExecutionException}. */
+        REJECT
+    }
+
+    private static final Logger LOGGER = Logger.getLogger(OrderPipeline.class.getName());
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("ordermanagement.pipeline.enabled", "false"));
+    private static final int CAPACITY = Integer.getInteger("ordermanagement.pipeline.capacity", 1024);
+    private static final int MAX_GROUP_SIZE = Integer.getInteger("ordermanagement.pipeline.maxGroupSize", 256);
+    private static final OverflowPolicy OVERFLOW =
+            OverflowPolicy.valueOf(System.getProperty("ordermanagement.pipeline.overflow", "BLOCK"));
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+
+    private static volatile OrderPipeline instance;
+
+    /**
+     * An order waiting in the queue, with the future of its caller.
+     */
+    private static final class Submission {
+        final Orders order;
+        final CompletableFuture<Orders> future = new CompletableFuture<>();
+
+        Submission(Orders order) {
+            this.order = order;
+        }
+    }
+
+    /**
+     * Why a group could not be committed, and the order which broke it if it is known.
+     */
+    private static final class GroupFailure {
+        final Exception cause;
+        final Submission row;
+
+        GroupFailure(Exception cause, Submission row) {
+            this.cause = cause;
+            this.row = row;
+        }
+    }
+
+    private final BlockingQueue<Submission> queue;
+    private final int maxGroupSize;
+    private final OverflowPolicy overflow;
+    private final OrderDAO orderDAO = new OrderDAO();
+    private final ProductDAO productDAO = new ProductDAO();
+    private final InventoryEngine inventory = InventoryEngine.getInstance();
+    private final EventBus eventBus = EventBus.getInstance();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    private final LongAdder groups = new LongAdder();
+    private final LongAdder committedOrders = new LongAdder();
+    private final LongAdder commitNanos = new LongAdder();
+    private final AtomicLong maxCommitNanos = new AtomicLong();
+    private volatile int lastGroupSize;
+
+    private OrderPipeline(int capacity, int maxGroupSize, OverflowPolicy overflow) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.maxGroupSize = maxGroupSize;
+        this.overflow = overflow;
+        this.writer = new Thread(this::run, "order-pipeline-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Returns the pipeline, starting its writer thread the first time it is used.
+     *
+     * @return The order pipeline, or null if it is disabled
+     */
+    public static OrderPipeline getInstance() {
+        if (!ENABLED) {
+            return null;
+        }
+        OrderPipeline pipeline = instance;
+        if (pipeline == null) {
+            synchronized (OrderPipeline.class) {
+                pipeline = instance;
+                if (pipeline == null) {
+                    pipeline = new OrderPipeline(CAPACITY, MAX_GROUP_SIZE, OVERFLOW);
+                    instance = pipeline;
+                }
+            }
+        }
+        return pipeline;
+    }
+
+    /**
+     * Stops accepting orders and waits until the writer thread saved the orders already in the
+     * queue. Does nothing if the pipeline was never started.
+     */
+    public static void shutdown() {
+        OrderPipeline pipeline = instance;
+        if (pipeline != null) {
+            pipeline.running = false;
+            try {
+                pipeline.writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Puts a validated order in the queue. The returned future is completed with the order,
+     * which then has its generated id, once the group of the order was committed. It fails with
+     * an IllegalArgumentException if there was not enough stock or the order could not be saved.
+     *
+     * @param order Order to be saved
+     * @return The future of the order, failed with a RejectedExecutionException if the pipeline
+     * stopped while the order was submitted
+     * @throws RejectedExecutionException Thrown if the pipeline is stopped, or the queue is full
+     * and the overflow policy is REJECT
+     */
+    public CompletableFuture<Orders> submit(Orders order) {
+        if (!running) {
+            throw new RejectedExecutionException("The order pipeline is stopped");
+        }
+        Submission submission = new Submission(order);
+        if (overflow == OverflowPolicy.REJECT) {
+            if (!queue.offer(submission)) {
+                throw new RejectedExecutionException("Too many orders are waiting to be saved");
+            }
+        } else {
+            try {
+                queue.put(submission);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException("Interrupted while waiting to submit the order", e);
+            }
+        }
+        if (!running && queue.remove(submission)) {
+            submission.future.completeExceptionally(new RejectedExecutionException("The order pipeline is stopped"));
+        }
+        return submission.future;
+    }
+
+    private void run() {
+        List<Submission> group = new ArrayList<>(maxGroupSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Submission first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                queue.drainTo(group, maxGroupSize - 1);
+                saveGroup(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.SEVERE, "The order pipeline failed to save a group", e);
+                for (Submission submission : group) {
+                    submission.future.completeExceptionally(e);
+                }
+            } finally {
+                group.clear();
+            }
+        }
+        List<Submission> late = new ArrayList<>();
+        queue.drainTo(late);
+        for (Submission submission : late) {
+            submission.future.completeExceptionally(new RejectedExecutionException("The order pipeline is stopped"));
+        }
+    }
+
+    /**
+     * Saves a group of orders. If the group cannot be committed, the order whose insert failed
+     * is failed and the others are saved again without it. When the failing order is not known,
+     * every order of the group is saved in its own transaction, so only the bad ones fail.
+     */
+    private void saveGroup(List<Submission> group) {
+        lastGroupSize = group.size();
+        List<Submission> remaining = new ArrayList<>(group);
+        while (true) {
+            GroupFailure failure = commitGroup(remaining);
+            if (failure == null) {
+                return;
+            }
+            if (remaining.size() == 1) {
+                fail(remaining.get(0), failure.cause);
+                return;
+            }
+            if (failure.row == null) {
+                for (Submission submission : remaining) {
+                    GroupFailure single = commitGroup(Collections.singletonList(submission));
+                    if (single != null) {
+                        fail(submission, single.cause);
+                    }
+                }
+                return;
+            }
+            fail(failure.row, failure.cause);
+            remaining.remove(failure.row);
+        }
+    }
+
+    /**
+     * Reserves the stock of every order of the group and inserts the accepted ones in a single
+     * transaction. The orders which were refused for lack of stock are failed individually.
+     *
+     * @return null if the group was committed, or why it was rolled back
+     */
+    private GroupFailure commitGroup(List<Submission> group) {
+        List<Submission> accepted = new ArrayList<>(group.size());
+        List<Submission> refused = new ArrayList<>();
+        Submission[] failedRow = new Submission[1];
+        long start = System.nanoTime();
+        List<Integer> generatedIds;
+        try {
+            generatedIds = Transaction.execute(() -> {
+                reserveStock(group, accepted, refused);
+                List<Orders> orders = new ArrayList<>(accepted.size());
+                for (Submission submission : accepted) {
+                    orders.add(submission.order);
+                }
+                BatchResult result = orderDAO.insertAll(orders);
+                if (!result.isApplied()) {
+                    List<BatchResult.Outcome> outcomes = result.getOutcomes();
+                    int row = outcomes.indexOf(BatchResult.Outcome.FAILED);
+                    if (row >= 0 && row == outcomes.lastIndexOf(BatchResult.Outcome.FAILED)) {
+                        failedRow[0] = accepted.get(row);
+                    }
+                    throw new SQLException(result.getErrorMessage());
+                }
+                return result.getGeneratedIds();
+            });
+        } catch (SQLException | RuntimeException e) {
+            releaseStock(accepted);
+            return new GroupFailure(e, failedRow[0]);
+        }
+        recordCommit(System.nanoTime() - start, accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            Submission submission = accepted.get(i);
+            Orders order = submission.order;
+            order.setId(generatedIds.get(i));
+            eventBus.publishOrderPlaced(order.getId(), order.getClientId(), order.getProductId(), order.getQuantity());
+            eventBus.publishStockChanged(order.getProductId(), inventory != null ? inventory.getAvailable(order.getProductId()) : -1);
+            submission.future.complete(order);
+        }
+        for (Submission submission : refused) {
+            submission.future.completeExceptionally(underStocked(submission.order.getProductId()));
+        }
+        return null;
+    }
+
+    private static void fail(Submission submission, Exception cause) {
+        submission.future.completeExceptionally(new IllegalArgumentException("The order could not be saved.\n" + cause.getMessage()));
+    }
+
+    private void reserveStock(List<Submission> group, List<Submission> accepted, List<Submission> refused) throws SQLException {
+        accepted.clear();
+        refused.clear();
+        if (inventory != null) {
+            for (Submission submission : group) {
+                Orders order = submission.order;
+                (inventory.reserve(order.getProductId(), order.getQuantity()) ? accepted : refused).add(submission);
+            }
+            return;
+        }
+        int[] productIds = new int[group.size()];
+        int[] quantities = new int[group.size()];
+        for (int i = 0; i < group.size(); i++) {
+            productIds[i] = group.get(i).order.getProductId();
+            quantities[i] = group.get(i).order.getQuantity();
+        }
+        int[] counts = productDAO.decrementStockAll(productIds, quantities);
+        if (counts == null) {
+            throw new SQLException("The stock could not be updated");
+        }
+        for (int i = 0; i < counts.length; i++) {
+            (counts[i] == 0 ? refused : accepted).add(group.get(i));
+        }
+    }
+
+    private void releaseStock(List<Submission> accepted) {
+        if (inventory != null) {
+            for (Submission submission : accepted) {
+                inventory.release(submission.order.getProductId(), submission.order.getQuantity());
+            }
+        }
+    }
+
+    private IllegalArgumentException underStocked(int productId) {
+        int available;
+        if (inventory != null) {
+            available = inventory.getAvailable(productId);
+        } else {
+            try {
+                Product product = productDAO.findById(productId);
+                available = product.getQuantity();
+            } catch (NoSuchElementException e) {
+                available = -1;
+            }
+        }
+        if (available < 0) {
+            return new IllegalArgumentException("The selected product no longer exists.");
+        }
+        return new IllegalArgumentException("Under-stocked item!\nOnly " + available + " left.");
+    }
+
+    private void recordCommit(long nanos, int orders) {
+        groups.increment();
+        committedOrders.add(orders);
+        commitNanos.add(nanos);
+        maxCommitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * @return Number of orders waiting in the queue
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * @return Number of groups committed so far
+     */
+    public long getGroupCount() {
+        return groups.sum();
+    }
+
+    /**
+     * @return Number of orders in the last group taken from the queue
+     */
+    public int getLastGroupSize() {
+        return lastGroupSize;
+    }
+
+    /**
+     * @return Average number of orders saved by a committed group
+     */
+    public double getAverageGroupSize() {
+        long count = groups.sum();
+        return count == 0 ? 0 : (double) committedOrders.sum() / count;
+    }
+
+    /**
+     * @return Average time to reserve, insert and commit a group, in milliseconds
+     */
+    public double getAverageCommitMillis() {
+        long count = groups.sum();
+        return count == 0 ? 0 : commitNanos.sum() / (count * 1_000_000.0);
+    }
+
+    /**
+     * @return Longest time to reserve, insert and commit a group, in milliseconds
+     */
+    public double getMaxCommitMillis() {
+        return maxCommitNanos.get() / 1_000_000.0;
+    }
+}
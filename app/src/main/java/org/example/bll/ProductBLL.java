@@ -0,0 +1,271 @@
+package org.example.bll;
+
+import org.example.bll.catalog.Catalog;
+import org.example.bll.events.EventBus;
+import org.example.bll.search.SearchIndexes;
+import org.example.bll.search.TableSearch;
+import org.example.bll.validators.NumberValidator;
+import org.example.bll.validators.Validator;
+import org.example.dao.BatchResult;
+import org.example.dao.ProductDAO;
+import org.example.model.Product;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.LongConsumer;
+
+/**
+ * Contains the business logic part of the application that has to do with the product.
+ *
+ * @author Stoica Irina
+ * @since Apr 12, 2022
+ */
+
+public class ProductBLL {
+    private final Validator<Product> validator;
+    private final ProductDAO productDAO;
+    private final InventoryEngine inventory;
+    private final EventBus eventBus;
+    private final Catalog<Product> catalog;
+    private final TableSearch<Product> search;
+
+    public ProductBLL(){
+        validator = new NumberValidator();
+        productDAO = new ProductDAO();
+        inventory = InventoryEngine.getInstance();
+        eventBus = EventBus.getInstance();
+        catalog = Catalog.getProducts();
+        search = new TableSearch<>(SearchIndexes::getProducts, productDAO, catalog, SearchIndexes::fieldsOf, this::findAll);
+    }
+
+    /**
+     * This function creates a list of products and calls the ProductDAO class function which
+     * gets all entries of the product table. When the catalogs are enabled, the products are taken from
+     * the in-memory {@link Catalog} instead, without querying the database.
+     *
+     * @return A list containing all products in the table
+     */
+    public List<Product> findAll() {
+        if(catalog != null){
+            return catalog.findAll();
+        }
+        List<Product> list = productDAO.findAll();
+        if(list == null){
+            throw new NullPointerException("The database table is empty");
+        }
+        return list;
+    }
+
+    /**
+     * Returns the page of products which follows the product with the given id, ordered by id.
+     *
+     * @param afterId Id of the last product of the previous page, or 0 for the first page
+     * @param limit Maximum number of products in the page
+     * @return A list containing the products of the page
+     */
+    public List<Product> findPage(int afterId, int limit) {
+        List<Product> list = productDAO.findPage(afterId, limit);
+        if(list == null){
+            throw new NullPointerException("The products could not be loaded");
+        }
+        return list;
+    }
+
+    /**
+     * Returns the page of products which precedes the product with the given id, ordered by id.
+     *
+     * @param beforeId Id of the first product of the next page, or Integer.MAX_VALUE for the
+     *                 last page
+     * @param limit Maximum number of products in the page
+     * @return A list containing the products of the page
+     */
+    public List<Product> findPageBefore(int beforeId, int limit) {
+        List<Product> list = productDAO.findPageBefore(beforeId, limit);
+        if(list == null){
+            throw new NullPointerException("The products could not be loaded");
+        }
+        return list;
+    }
+
+    /**
+     * This function receives the fields entered by the user and tries to create a Product and call
+     * the database insert function. If this fails, it throws an exception
+     *
+     * @param name Name of product
+     * @param priceString Product price
+     * @param quantityString Product quantity
+     * @throws IllegalArgumentException Exception thrown if any of the fields are empty
+     */
+    public void insertProduct(String name, String priceString, String quantityString) throws IllegalArgumentException {
+        if(name.equals("") || priceString.equals("") || quantityString.equals("")){
+            throw new IllegalArgumentException("Cannot add product.\nPlease fill in all the fields");
+        }
+        int price = Integer.parseInt(priceString);
+        int quantity = Integer.parseInt(quantityString);
+        Product product = new Product(name, price, quantity);
+        validator.validate(product);
+        productDAO.insert(product);
+        if(product.getId() != null){
+            if(catalog != null){
+                catalog.put(product);
+            }
+            search.put(product);
+            eventBus.publishProductChanged(product.getId());
+        }
+    }
+
+    /**
+     * Imports the products of a CSV file with the columns name, price and quantity. The rows are
+     * validated like the products added one by one, and the rows which cannot be imported are
+     * written next to the file, in a file with the same name ending in .rejects.csv.
+     *
+     * @param source The CSV file
+     * @return The number of products imported and rejected
+     * @throws IllegalArgumentException Thrown if the file cannot be read
+     */
+    public ImportReport importProducts(Path source) throws IllegalArgumentException {
+        CsvImporter<Product> importer = new CsvImporter<>(new String[]{"name", "price", "quantity"},
+                fields -> new Product(fields[0], Integer.parseInt(fields[1].trim()), Integer.parseInt(fields[2].trim())),
+                validator, this::insertAll);
+        try {
+            return importer.importFile(source, CsvImporter.rejectsFile(source));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot import products.\n" + e.getMessage());
+        }
+    }
+
+    private BatchResult insertAll(List<Product> products) {
+        BatchResult result = productDAO.insertAll(products);
+        if(result.isCommitted()){
+            for(Integer id : result.getGeneratedIds()){
+                if(id != null){
+                    eventBus.publishProductChanged(id);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * This function receives the value of the field of the id. If the field is empty, it throws
+     * an IllegalArgumentException. It searches in the database for the entry with the id and
+     * if no entry with that id is found, it throws an NoSuchElementException
+     *
+     * @param idString The id to be searched by, in string form
+     * @return The object of Type product with integer form of the id entered
+     * @throws NoSuchElementException Thrown when the query fails to find a matching entry
+     * @throws IllegalArgumentException Thrown when the idString is empty
+     */
+    public Product findProductById(String idString) throws NoSuchElementException, NumberFormatException {
+        if(idString.equals("")){
+            throw new NumberFormatException("Please fill in the id field.");
+        }
+        try {
+            int id = Integer.parseInt(idString);
+            Product product = productDAO.findById(id);
+            if (product == null) {
+                throw new NoSuchElementException("The product with id = " + id + " was not found!");
+            }
+            return product;
+        } catch(NumberFormatException e){
+            throw new NumberFormatException("Please enter a valid id.");
+        }
+    }
+
+    /**
+     * Finds the products matching the text typed by the user, for type-ahead search: first the
+     * products with a word of the name starting with the text, then the other products containing
+     * it, ignoring the case and the accents. The matches are found by the {@link TableSearch} of
+     * the products.
+     *
+     * @param query The text typed by the user
+     * @param limit Maximum number of products returned
+     * @return The matching products, empty if the text is blank
+     */
+    public List<Product> searchProducts(String query, int limit) {
+        return search.search(query, limit);
+    }
+
+    /**
+     * Calls the database layer method for deleting a table entry
+     *
+     * @param id Id in integer form
+     * @throws IllegalArgumentException Thrown when the product could not be deleted, for example
+     * because it has orders
+     */
+    public void deleteProduct(Integer id) throws IllegalArgumentException {
+        if(!productDAO.delete(id)){
+            throw new IllegalArgumentException("The product with id = " + id + " could not be deleted.");
+        }
+        if(inventory != null){
+            inventory.remove(id);
+        }
+        if(catalog != null){
+            catalog.remove(id);
+        }
+        search.remove(id);
+        eventBus.publishProductDeleted(id);
+    }
+
+    /**
+     * Receives the id of the product to be updated and its new name, price and quantity in
+     * String form. It then tries to create an object with these values and to modify it in
+     * the database. With the inventory engine, the reservations not yet written to the database
+     * are kept on top of the new quantity.
+     *
+     * @param idString The id for the product to be identified by
+     * @param name New product name
+     * @param priceString New product price
+     * @param quantityString New product quantity
+     * @throws IllegalArgumentException thrown when the the fields are empty, when price or
+     * quantity cannot be converted to strings or when the product could not be updated
+     */
+    public void updateProduct(String idString, String name, String priceString, String quantityString) throws IllegalArgumentException {
+        if(name.equals("") || priceString.equals("") || quantityString.equals("")){
+            throw new IllegalArgumentException("Cannot update client.\nPlease fill in all the fields");
+        }
+        try {
+            int id = Integer.parseInt(idString);
+            int price = Integer.parseInt(priceString);
+            int quantity = Integer.parseInt(quantityString);
+            Product product = new Product(id, name, price, quantity);
+            validator.validate(product);
+            if(inventory != null){
+                inventory.update(product);
+            } else if(!productDAO.update(product)){
+                throw new SQLException("The product with id = " + id + " was not found!");
+            }
+            if(catalog != null){
+                catalog.put(product);
+            }
+            search.put(product);
+            eventBus.publishProductChanged(id);
+        } catch(NumberFormatException e){
+            throw new IllegalArgumentException("Invalid data fields");
+        } catch(SQLException e){
+            throw new IllegalArgumentException("The product could not be updated.\n" + e.getMessage());
+        }
+    }
+
+    /**
+     * Exports all the products to a file, streaming them from the database so the table is never
+     * loaded in memory.
+     *
+     * @param target The file, which is replaced if it exists
+     * @param format CSV or JSON Lines
+     * @param gzip true to compress the file with gzip
+     * @param progress Called with the number of products written so far, or null
+     * @return The number of products exported
+     * @throws IllegalArgumentException Thrown if the export fails
+     */
+    public long exportProducts(Path target, TableExporter.Format format, boolean gzip, LongConsumer progress) throws IllegalArgumentException {
+        try {
+            return TableExporter.export(productDAO, target, format, gzip, progress);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot export products.\n" + e.getMessage());
+        }
+    }
+}
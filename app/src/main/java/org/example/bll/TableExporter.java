@@ -0,0 +1,212 @@
+package org.example.bll;
+
+import org.example.dao.AbstractDAO;
+import org.example.dao.EntityMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exports a whole table to a CSV or JSON Lines file. The rows are read from a database cursor
+ * with {@link AbstractDAO#streamAll()} and written one by one through a buffer, so the memory
+ * used does not depend on the size of the table. The column names and values come from the
+ * {@link EntityMapper} of the DAO.
+ * <p>
+ * The file is written under a temporary name and renamed when the export is complete, so a
+ * failed export never leaves a truncated file behind.
+ *
+ * @author Stoica Irina
+ * @since Oct 18, 2026
+ */
+public final class TableExporter {
+
+    /**
+     * The format of the exported file.
+     */
+    public enum Format {
+        /** Comma separated values, with a header line of column names. */
+        CSV,
+        /** One JSON object per line, with the column names as keys. */
+        JSON_LINES
+    }
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final long PROGRESS_INTERVAL = 1000;
+
+    private TableExporter() {
+    }
+
+    /**
+     * Writes all the rows of the table of a DAO to a file.
+     *
+     * @param dao DAO of the table
+     * @param target The file, which is replaced if it exists
+     * @param format Format of the file
+     * @param gzip true to compress the file with gzip
+     * @param progress Called with the number of rows written so far, every thousand rows and
+     *                 at the end, or null
+     * @param <T> The model class of the table
+     * @return The number of rows written
+     * @throws IOException Thrown if the file cannot be written or the rows cannot be read
+     */
+    public static <T> long export(AbstractDAO<T> dao, Path target, Format format, boolean gzip, LongConsumer progress)
+            throws IOException {
+        EntityMapper<T> mapper = dao.getMapper();
+        List<String> columns = mapper.getColumns();
+        Path temporary = target.resolveSibling(target.getFileName() + ".part");
+        long rows = 0;
+        try (Stream<T> stream = dao.streamAll();
+             FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING);
+             Writer writer = open(channel, gzip)) {
+            if (format == Format.CSV) {
+                writeCsvHeader(writer, columns);
+            }
+            Iterator<T> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                T t = iterator.next();
+                if (format == Format.CSV) {
+                    writeCsvRow(writer, mapper, t, columns.size());
+                } else {
+                    writeJsonRow(writer, mapper, t, columns);
+                }
+                rows++;
+                if (progress != null && rows % PROGRESS_INTERVAL == 0) {
+                    progress.accept(rows);
+                }
+            }
+        } catch (IllegalStateException e) {
+            Files.deleteIfExists(temporary);
+            throw new IOException(e.getMessage(), e);
+        } catch (IOException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        if (progress != null) {
+            progress.accept(rows);
+        }
+        return rows;
+    }
+
+    private static Writer open(FileChannel channel, boolean gzip) throws IOException {
+        OutputStream out = Channels.newOutputStream(channel);
+        if (gzip) {
+            out = new GZIPOutputStream(out, BUFFER_SIZE);
+        }
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    private static void writeCsvHeader(Writer writer, List<String> columns) throws IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeCsvValue(writer, columns.get(i));
+        }
+        writer.write('\n');
+    }
+
+    private static <T> void writeCsvRow(Writer writer, EntityMapper<T> mapper, T t, int columnCount) throws IOException {
+        for (int i = 0; i < columnCount; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = mapper.getValue(t, i);
+            if (value != null) {
+                writeCsvValue(writer, value.toString());
+            }
+        }
+        writer.write('\n');
+    }
+
+    /**
+     * Writes a value, in double quotes if it contains a comma, a quote or a line break.
+     */
+    private static void writeCsvValue(Writer writer, String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    private static <T> void writeJsonRow(Writer writer, EntityMapper<T> mapper, T t, List<String> columns) throws IOException {
+        writer.write('{');
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeJsonString(writer, columns.get(i));
+            writer.write(':');
+            Object value = mapper.getValue(t, i);
+            if (value == null) {
+                writer.write("null");
+            } else if (value instanceof Number || value instanceof Boolean) {
+                writer.write(value.toString());
+            } else {
+                writeJsonString(writer, value.toString());
+            }
+        }
+        writer.write("}\n");
+    }
+
+    private static void writeJsonString(Writer writer, String value) throws IOException {
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    writer.write("\\\"");
+                    break;
+                case '\\':
+                    writer.write("\\\\");
+                    break;
+                case '\n':
+                    writer.write("\\n");
+                    break;
+                case '\r':
+                    writer.write("\\r");
+                    break;
+                case '\t':
+                    writer.write("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        writer.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        writer.write(c);
+                    }
+            }
+        }
+        writer.write('"');
+    }
+}
@@ -0,0 +1,149 @@
+package org.example.bll.analytics;
+
+import org.example.model.Orders;
+import org.example.model.Product;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * Compares the reports of {@link OrderAnalytics} on synthetic {@link OrderColumns} with the way
+ * they were computed before, without a database: loops over the {@code List<Orders>} returned by
+ * findAll, with boxed fields, and a map of the products for their prices. Every report is
+ * repeated after a warm-up and the best run is printed, in milliseconds.
+ * Usage: {@code AnalyticsBenchmark [orders] [clients] [products]}
+ *
+ * @author Stoica Irina
+ * @since Oct 18, 2026
+ */
+public class AnalyticsBenchmark {
+
+    private static final int WARMUP_RUNS = 3;
+    private static final int RUNS = 5;
+    private static final int TOP = 10;
+    private static final int COHORT_WIDTH = 10_000;
+
+    public static void main(String[] args) {
+        int orderCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int clientCount = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+        int productCount = args.length > 2 ? Integer.parseInt(args[2]) : 1_000;
+        Random random = new Random(42);
+        int[] orderId = new int[orderCount];
+        int[] clientId = new int[orderCount];
+        int[] productId = new int[orderCount];
+        int[] quantity = new int[orderCount];
+        int[] price = new int[orderCount];
+        int[] productPrice = new int[productCount + 1];
+        Map<Integer, Product> products = new HashMap<>();
+        for (int id = 1; id <= productCount; id++) {
+            productPrice[id] = 1 + random.nextInt(500);
+            products.put(id, new Product(id, "Product " + id, productPrice[id], 1000));
+        }
+        List<Orders> orders = new ArrayList<>(orderCount);
+        for (int row = 0; row < orderCount; row++) {
+            orderId[row] = row + 1;
+            clientId[row] = 1 + random.nextInt(clientCount);
+            productId[row] = 1 + random.nextInt(productCount);
+            quantity[row] = 1 + random.nextInt(10);
+            price[row] = productPrice[productId[row]];
+            orders.add(new Orders(orderId[row], clientId[row], productId[row], quantity[row]));
+        }
+        OrderAnalytics analytics = new OrderAnalytics(new OrderColumns(orderId, clientId, productId, quantity, price));
+        System.out.println(orderCount + " orders, " + clientCount + " clients, " + productCount + " products");
+
+        compare("revenue by product",
+                () -> total(analytics.sumByProduct(null, OrderAnalytics.REVENUE)),
+                () -> revenueByProduct(orders, products).values().stream().mapToLong(Long::longValue).sum());
+        compare("top " + TOP + " products by revenue",
+                () -> (long) analytics.topProducts(null, OrderAnalytics.REVENUE, TOP).get(0).getKey(),
+                () -> (long) topProducts(orders, products).get(0));
+        compare("revenue by client",
+                () -> total(analytics.sumByClient(null, OrderAnalytics.REVENUE)),
+                () -> revenueByClient(orders, products).values().stream().mapToLong(Long::longValue).sum());
+        compare("client cohorts",
+                () -> analytics.clientCohorts(COHORT_WIDTH).stream().mapToLong(Cohort::getClients).sum(),
+                () -> cohorts(orders).values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    /**
+     * Runs a report with the columns and with the list, checks that both give the same result
+     * and prints the best time of each.
+     */
+    private static void compare(String report, Supplier<Long> columns, Supplier<Long> list) {
+        long[] results = new long[2];
+        double columnMillis = measure(columns, results, 0);
+        double listMillis = measure(list, results, 1);
+        System.out.printf("%-32s columns %8.1f ms   List<Orders> %8.1f ms   %s%n", report, columnMillis, listMillis,
+                results[0] == results[1] ? "same result" : "DIFFERENT RESULTS " + results[0] + " " + results[1]);
+    }
+
+    private static double measure(Supplier<Long> report, long[] results, int slot) {
+        double best = Double.MAX_VALUE;
+        for (int run = 0; run < WARMUP_RUNS + RUNS; run++) {
+            long start = System.nanoTime();
+            results[slot] = report.get();
+            double millis = (System.nanoTime() - start) / 1_000_000.0;
+            if (run >= WARMUP_RUNS) {
+                best = Math.min(best, millis);
+            }
+        }
+        return best;
+    }
+
+    private static long total(long[] values) {
+        long total = 0;
+        for (long value : values) {
+            total += value;
+        }
+        return total;
+    }
+
+    private static Map<Integer, Long> revenueByProduct(List<Orders> orders, Map<Integer, Product> products) {
+        Map<Integer, Long> revenue = new HashMap<>();
+        for (Orders order : orders) {
+            Product product = products.get(order.getProductId());
+            revenue.merge(order.getProductId(), (long) order.getQuantity() * product.getPrice(), Long::sum);
+        }
+        return revenue;
+    }
+
+    private static Map<Integer, Long> revenueByClient(List<Orders> orders, Map<Integer, Product> products) {
+        Map<Integer, Long> revenue = new HashMap<>();
+        for (Orders order : orders) {
+            Product product = products.get(order.getProductId());
+            revenue.merge(order.getClientId(), (long) order.getQuantity() * product.getPrice(), Long::sum);
+        }
+        return revenue;
+    }
+
+    private static List<Integer> topProducts(List<Orders> orders, Map<Integer, Product> products) {
+        List<Map.Entry<Integer, Long>> entries = new ArrayList<>(revenueByProduct(orders, products).entrySet());
+        entries.sort((a, b) -> !a.getValue().equals(b.getValue()) ? Long.compare(b.getValue(), a.getValue())
+                : Integer.compare(a.getKey(), b.getKey()));
+        List<Integer> top = new ArrayList<>(TOP);
+        for (int i = 0; i < TOP && i < entries.size(); i++) {
+            top.add(entries.get(i).getKey());
+        }
+        return top;
+    }
+
+    /**
+     * @return The number of clients of every cohort, by the first order id of the cohort
+     */
+    private static Map<Long, Long> cohorts(List<Orders> orders) {
+        Map<Integer, Integer> firstOrder = new HashMap<>();
+        for (Orders order : orders) {
+            firstOrder.merge(order.getClientId(), order.getId(), Math::min);
+        }
+        Map<Long, Long> members = new TreeMap<>();
+        for (Integer first : firstOrder.values()) {
+            members.merge((long) (first / COHORT_WIDTH) * COHORT_WIDTH, 1L, Long::sum);
+        }
+        return members;
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.bll.analytics;
+
+/**
+ * The clients whose first order falls in the same range of order ids, with the totals of all
+ * their orders.
+ *
+ * @author Stoica Irina
+ * @since Oct 18, 2026
+ */
+public final class Cohort {
+
+    private final long firstOrderId;
+    private final long clients;
+    private final long orders;
+    private final long revenue;
+
+    public Cohort(long firstOrderId, long clients, long orders, long revenue) {
+        this.firstOrderId = firstOrderId;
+        this.clients = clients;
+        this.orders = orders;
+        this.revenue = revenue;
+    }
+
+    /**
+     * @return The first order id of the range of the cohort
+     */
+    public long getFirstOrderId() {
+        return firstOrderId;
+    }
+
+    /**
+     * @return Number of clients in the cohort
+     */
+    public long getClients() {
+        return clients;
+    }
+
+    /**
+     * @return Number of orders of the clients of the cohort
+     */
+    public long getOrders() {
+        return orders;
+    }
+
+    /**
+     * @return Revenue of the orders of the clients of the cohort
+     */
+    public long getRevenue() {
+        return revenue;
+    }
+
+    @Override
+    public String toString() {
+        return "from order " + firstOrderId + ": " + clients + " clients, " + orders + " orders, revenue " + revenue;
+    }
+}
@@ -0,0 +1,34 @@
+package org.example.bll.analytics;
+
+/**
+ * The total of a group in a report, for example the revenue of a product.
+ *
+ * @author Stoica Irina
+ * @since Oct 18, 2026
+ */
+public final class KeyTotal {
+
+    private final int key;
+    private final long total;
+
+    public KeyTotal(int key, long total) {
+        this.key = key;
+        this.total = total;
+    }
+
+    /**
+     * @return The group, for example a product id
+     */
+    public int getKey() {
+        return key;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return key + "=" + total;
+    }
+}
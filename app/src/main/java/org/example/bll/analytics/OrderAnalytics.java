@@ -0,0 +1,313 @@
+package org.example.bll.analytics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.IntStream;
+
+/**
+ * Reports over the orders, computed on {@link OrderColumns} with the fork-join pool. The
+ * operators split the rows in ranges, compute a partial result for every range on its own
+ * thread, without sharing anything, and merge the partial results. A partial result holds one
+ * value per group, so with many groups the rows are split in fewer ranges, to keep the partial
+ * results of a report to a few million values.
+ * <p>
+ * A report can be restricted to some of the orders with a selection, the sorted indexes of the
+ * rows returned by {@link #filter(RowFilter)}. A null selection means all the orders.
+ *
+ * @author Stoica Irina
+ * @since Oct 18, 2026
+ */
+public final class OrderAnalytics {
+
+    /**
+     * Decides whether an order is part of a report.
+     */
+    @FunctionalInterface
+    public interface RowFilter {
+        boolean test(OrderColumns columns, int row);
+    }
+
+    /**
+     * Gives the group of an order, from 0 to the number of groups minus one.
+     */
+    @FunctionalInterface
+    public interface RowKey {
+        int of(OrderColumns columns, int row);
+    }
+
+    /**
+     * Gives the value of an order which is added up for its group.
+     */
+    @FunctionalInterface
+    public interface RowValue {
+        long of(OrderColumns columns, int row);
+    }
+
+    /** Counts every order once. */
+    public static final RowValue COUNT = (columns, row) -> 1;
+    /** Adds up the quantities. */
+    public static final RowValue UNITS = (columns, row) -> columns.getQuantity(row);
+    /** Adds up the quantity times the price. */
+    public static final RowValue REVENUE = OrderColumns::getRevenue;
+
+    private static final int MIN_RANGE = 8192;
+    private static final long MAX_PARTIAL_VALUES = 1L << 22;
+
+    private final OrderColumns columns;
+    private final ForkJoinPool pool;
+    private final int ranges;
+
+    /**
+     * @param columns The orders, which must not change while they are analyzed
+     */
+    public OrderAnalytics(OrderColumns columns) {
+        this(columns, ForkJoinPool.commonPool());
+    }
+
+    public OrderAnalytics(OrderColumns columns, ForkJoinPool pool) {
+        this.columns = columns;
+        this.pool = pool;
+        this.ranges = pool.getParallelism() * 4;
+    }
+
+    /**
+     * @param filter The condition
+     * @return The sorted indexes of the orders which meet the condition
+     */
+    public int[] filter(RowFilter filter) {
+        return pool.submit(() -> IntStream.range(0, columns.size()).parallel()
+                .filter(row -> filter.test(columns, row)).toArray()).join();
+    }
+
+    /**
+     * Adds up a value for every group of orders, the equivalent of SELECT key, SUM(value) ...
+     * GROUP BY key.
+     *
+     * @param selection The rows to include, or null for all
+     * @param key Gives the group of an order
+     * @param groups Number of groups; every key must be below it
+     * @param value The value added up
+     * @return The sum of every group, indexed by group
+     */
+    public long[] groupSum(int[] selection, RowKey key, int groups, RowValue value) {
+        int size = selection == null ? columns.size() : selection.length;
+        return pool.invoke(new GroupSum(selection, key, groups, value, 0, size, threshold(size, groups)));
+    }
+
+    /**
+     * Adds up a value for every product.
+     *
+     * @param selection The rows to include, or null for all
+     * @param value The value added up
+     * @return The sums indexed by product id
+     */
+    public long[] sumByProduct(int[] selection, RowValue value) {
+        return groupSum(selection, OrderColumns::getProductId, columns.getMaxProductId() + 1, value);
+    }
+
+    /**
+     * Adds up a value for every client.
+     *
+     * @param selection The rows to include, or null for all
+     * @param value The value added up
+     * @return The sums indexed by client id
+     */
+    public long[] sumByClient(int[] selection, RowValue value) {
+        return groupSum(selection, OrderColumns::getClientId, columns.getMaxClientId() + 1, value);
+    }
+
+    /**
+     * Finds the products with the largest totals.
+     *
+     * @param selection The rows to include, or null for all
+     * @param value The value ranked, for example {@link #REVENUE} or {@link #UNITS}
+     * @param limit Maximum number of products returned
+     * @return The products with the largest totals, largest first, without the products which
+     * were not ordered
+     */
+    public List<KeyTotal> topProducts(int[] selection, RowValue value, int limit) {
+        long[] totals = sumByProduct(selection, value);
+        long[] counts = sumByProduct(selection, COUNT);
+        PriorityQueue<KeyTotal> top = new PriorityQueue<>(limit + 1,
+                (a, b) -> a.getTotal() != b.getTotal() ? Long.compare(a.getTotal(), b.getTotal()) : Integer.compare(b.getKey(), a.getKey()));
+        for (int id = 0; id < totals.length; id++) {
+            if (counts[id] == 0) {
+                continue;
+            }
+            top.add(new KeyTotal(id, totals[id]));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        List<KeyTotal> result = new ArrayList<>(top);
+        result.sort((a, b) -> top.comparator().compare(b, a));
+        return result;
+    }
+
+    /**
+     * Adds up the revenue of the orders by the price band of their product: band i holds the
+     * prices from i * bandWidth to (i + 1) * bandWidth - 1, the last band also the higher prices.
+     *
+     * @param selection The rows to include, or null for all
+     * @param bandWidth Width of a price band
+     * @param bands Number of bands
+     * @return The revenue of every band
+     */
+    public long[] revenueByPriceBand(int[] selection, int bandWidth, int bands) {
+        if (bandWidth < 1 || bands < 1) {
+            throw new IllegalArgumentException("The price bands must have a positive width and count");
+        }
+        return groupSum(selection, (c, row) -> Math.min(Math.max(c.getPrice(row), 0) / bandWidth, bands - 1), bands, REVENUE);
+    }
+
+    /**
+     * Groups the clients in cohorts by their first order: cohort i holds the clients whose first
+     * order has an id from i * cohortWidth to (i + 1) * cohortWidth - 1. The orders table has no
+     * dates, so the order ids, which grow with time, stand for the time of the first order.
+     *
+     * @param cohortWidth Number of consecutive order ids of a cohort
+     * @return The cohorts which have clients, in order
+     */
+    public List<Cohort> clientCohorts(int cohortWidth) {
+        if (cohortWidth < 1) {
+            throw new IllegalArgumentException("The cohort width must be positive");
+        }
+        int clients = columns.getMaxClientId() + 1;
+        int size = columns.size();
+        int[] firstOrder = pool.invoke(new GroupMin(OrderColumns::getClientId, OrderColumns::getOrderId, clients, 0, size,
+                threshold(size, clients)));
+        int cohorts = 0;
+        for (int first : firstOrder) {
+            if (first != Integer.MAX_VALUE) {
+                cohorts = Math.max(cohorts, first / cohortWidth + 1);
+            }
+        }
+        RowKey cohortOf = (c, row) -> firstOrder[c.getClientId(row)] / cohortWidth;
+        long[] orders = groupSum(null, cohortOf, cohorts, COUNT);
+        long[] revenue = groupSum(null, cohortOf, cohorts, REVENUE);
+        long[] members = new long[cohorts];
+        for (int first : firstOrder) {
+            if (first != Integer.MAX_VALUE) {
+                members[first / cohortWidth]++;
+            }
+        }
+        List<Cohort> result = new ArrayList<>();
+        for (int i = 0; i < cohorts; i++) {
+            if (members[i] > 0) {
+                result.add(new Cohort((long) i * cohortWidth, members[i], orders[i], revenue[i]));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gives the largest range of rows a task computes on its own. The rows are split in up to
+     * {@code ranges} ranges, and in fewer when there are many groups, since every range gets an
+     * array with a value per group: a million groups leave room for only a few arrays.
+     *
+     * @param size Number of rows
+     * @param groups Number of groups
+     * @return The number of rows of a range
+     */
+    private int threshold(int size, int groups) {
+        long leaves = Math.max(1, Math.min(ranges, MAX_PARTIAL_VALUES / Math.max(1, groups)));
+        return (int) Math.max(MIN_RANGE, (size + leaves - 1) / leaves);
+    }
+
+    /**
+     * Adds up the values of a range of rows per group, splitting the range in two while it is
+     * larger than the threshold.
+     */
+    private final class GroupSum extends RecursiveTask<long[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] selection;
+        private final RowKey key;
+        private final int groups;
+        private final RowValue value;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        GroupSum(int[] selection, RowKey key, int groups, RowValue value, int from, int to, int threshold) {
+            this.selection = selection;
+            this.key = key;
+            this.groups = groups;
+            this.value = value;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from <= threshold) {
+                long[] sums = new long[groups];
+                for (int i = from; i < to; i++) {
+                    int row = selection == null ? i : selection[i];
+                    sums[key.of(columns, row)] += value.of(columns, row);
+                }
+                return sums;
+            }
+            int middle = (from + to) >>> 1;
+            GroupSum left = new GroupSum(selection, key, groups, value, from, middle, threshold);
+            left.fork();
+            long[] sums = new GroupSum(selection, key, groups, value, middle, to, threshold).compute();
+            long[] other = left.join();
+            for (int i = 0; i < groups; i++) {
+                sums[i] += other[i];
+            }
+            return sums;
+        }
+    }
+
+    /**
+     * Finds the smallest value of a range of rows per group, Integer.MAX_VALUE for the groups
+     * without rows.
+     */
+    private final class GroupMin extends RecursiveTask<int[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final RowKey key;
+        private final RowKey value;
+        private final int groups;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        GroupMin(RowKey key, RowKey value, int groups, int from, int to, int threshold) {
+            this.key = key;
+            this.value = value;
+            this.groups = groups;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (to - from <= threshold) {
+                int[] minimum = new int[groups];
+                Arrays.fill(minimum, Integer.MAX_VALUE);
+                for (int row = from; row < to; row++) {
+                    int group = key.of(columns, row);
+                    minimum[group] = Math.min(minimum[group], value.of(columns, row));
+                }
+                return minimum;
+            }
+            int middle = (from + to) >>> 1;
+            GroupMin left = new GroupMin(key, value, groups, from, middle, threshold);
+            left.fork();
+            int[] minimum = new GroupMin(key, value, groups, middle, to, threshold).compute();
+            int[] other = left.join();
+            for (int i = 0; i < groups; i++) {
+                minimum[i] = Math.min(minimum[i], other[i]);
+            }
+            return minimum;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package org.example.bll.analytics;
+
+import org.example.dao.OrderDAO;
+import org.example.dao.ProductDAO;
+
+import java.util.Arrays;
+
+/**
+ * The orders stored column by column in arrays of primitive ints, joined with the price of
+ * their product, for the reports of {@link OrderAnalytics}. Row i of every column belongs to the
+ * same order. The columns are filled from database cursors, without building a list of
+ * {@link org.example.model.Orders} objects.
+ *
+ * @author Stoica Irina
+ * @since Oct 18, 2026
+ */
+public final class OrderColumns {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final int size;
+    private final int[] orderId;
+    private final int[] clientId;
+    private final int[] productId;
+    private final int[] quantity;
+    private final int[] price;
+    private final int maxClientId;
+    private final int maxProductId;
+
+    /**
+     * Creates the columns from arrays of the same length, which are used as they are.
+     *
+     * @param orderId Order ids
+     * @param clientId Client ids
+     * @param productId Product ids
+     * @param quantity Quantities
+     * @param price Prices of the products
+     */
+    public OrderColumns(int[] orderId, int[] clientId, int[] productId, int[] quantity, int[] price) {
+        int length = orderId.length;
+        if (clientId.length != length || productId.length != length || quantity.length != length || price.length != length) {
+            throw new IllegalArgumentException("The columns must have the same length");
+        }
+        this.size = length;
+        this.orderId = orderId;
+        this.clientId = clientId;
+        this.productId = productId;
+        this.quantity = quantity;
+        this.price = price;
+        this.maxClientId = Arrays.stream(clientId).parallel().max().orElse(0);
+        this.maxProductId = Arrays.stream(productId).parallel().max().orElse(0);
+    }
+
+    /**
+     * Reads the products and the orders from the database and joins every order with the
+     * current price of its product. Orders of products which no longer exist get a price of 0.
+     *
+     * @return The columns of all the orders
+     * @throws IllegalStateException Thrown if the products or the orders cannot be read
+     */
+    public static OrderColumns load() {
+        int[][] products = {new int[INITIAL_CAPACITY]};
+        Arrays.fill(products[0], -1);
+        new ProductDAO().forEach(product -> {
+            int id = product.getId();
+            if (id >= products[0].length) {
+                int length = products[0].length;
+                products[0] = Arrays.copyOf(products[0], Math.max(id + 1, length * 2));
+                Arrays.fill(products[0], length, products[0].length, -1);
+            }
+            products[0][id] = product.getPrice() != null ? product.getPrice() : 0;
+        });
+        int[] priceById = products[0];
+
+        Builder builder = new Builder();
+        new OrderDAO().forEach(order -> builder.add(order.getId(), order.getClientId(), order.getProductId(), order.getQuantity()));
+        int[] productIds = Arrays.copyOf(builder.productId, builder.size);
+        int[] prices = new int[builder.size];
+        Arrays.parallelSetAll(prices, row -> {
+            int id = productIds[row];
+            return id < priceById.length ? Math.max(priceById[id], 0) : 0;
+        });
+        return new OrderColumns(Arrays.copyOf(builder.orderId, builder.size), Arrays.copyOf(builder.clientId, builder.size),
+                productIds, Arrays.copyOf(builder.quantity, builder.size), prices);
+    }
+
+    /**
+     * Growable columns filled while the orders are read.
+     */
+    private static final class Builder {
+        int size;
+        int[] orderId = new int[INITIAL_CAPACITY];
+        int[] clientId = new int[INITIAL_CAPACITY];
+        int[] productId = new int[INITIAL_CAPACITY];
+        int[] quantity = new int[INITIAL_CAPACITY];
+
+        void add(int order, int client, int product, int units) {
+            if (size == orderId.length) {
+                int capacity = size * 2;
+                orderId = Arrays.copyOf(orderId, capacity);
+                clientId = Arrays.copyOf(clientId, capacity);
+                productId = Arrays.copyOf(productId, capacity);
+                quantity = Arrays.copyOf(quantity, capacity);
+            }
+            orderId[size] = order;
+            clientId[size] = client;
+            productId[size] = product;
+            quantity[size] = units;
+            size++;
+        }
+    }
+
+    /**
+     * @return Number of orders
+     */
+    public int size() {
+        return size;
+    }
+
+    public int getOrderId(int row) {
+        return orderId[row];
+    }
+
+    public int getClientId(int row) {
+        return clientId[row];
+    }
+
+    public int getProductId(int row) {
+        return productId[row];
+    }
+
+    public int getQuantity(int row) {
+        return quantity[row];
+    }
+
+    public int getPrice(int row) {
+        return price[row];
+    }
+
+    /**
+     * @param row Index of the order
+     * @return The quantity times the price of the order
+     */
+    public long getRevenue(int row) {
+        return (long) quantity[row] * price[row];
+    }
+
+    /**
+     * @return The largest client id, the size of the arrays indexed by client id minus one
+     */
+    public int getMaxClientId() {
+        return maxClientId;
+    }
+
+    /**
+     * @return The largest product id, the size of the arrays indexed by product id minus one
+     */
+    public int getMaxProductId() {
+        return maxProductId;
+    }
+}
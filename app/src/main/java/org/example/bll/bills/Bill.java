@@ -0,0 +1,197 @@
+package org.example.bll.bills;
+
+import org.example.model.Client;
+import org.example.model.Orders;
+import org.example.model.Product;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * The bill of an order. It copies the fields it needs from the client and product when the
+ * order is placed, so it can be written later by the {@link BillWriter} even if they change.
+ *
+ * @author Stoica Irina
+ * @since Oct 18, 2026
+ */
+public final class Bill {
+
+    /** The order id encoded for a bill without an order. */
+    static final int NO_ORDER = -1;
+
+    private static final DateTimeFormatter FILE_NAME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm");
+
+    private final Integer orderId;
+    private final LocalDateTime createdAt;
+    private final String clientName;
+    private final String clientAddress;
+    private final String clientEmail;
+    private final String productName;
+    private final int quantity;
+    private final int price;
+
+    public Bill(Integer orderId, LocalDateTime createdAt, String clientName, String clientAddress, String clientEmail,
+                String productName, int quantity, int price) {
+        this.orderId = orderId;
+        this.createdAt = createdAt;
+        this.clientName = clientName;
+        this.clientAddress = clientAddress;
+        this.clientEmail = clientEmail;
+        this.productName = productName;
+        this.quantity = quantity;
+        this.price = price;
+    }
+
+    /**
+     * Creates the bill of an order placed now.
+     *
+     * @param order The saved order
+     * @param client Client that made the order
+     * @param product Product ordered by the client
+     * @return The bill of the order
+     */
+    public static Bill of(Orders order, Client client, Product product) {
+        return new Bill(order.getId(), LocalDateTime.now(), client.getName(), client.getAddress(), client.getEmail(),
+                product.getName(), order.getQuantity(), product.getPrice());
+    }
+
+    /**
+     * @param orderId The id of the order
+     * @return A copy of the bill for the order with the given id
+     */
+    public Bill withOrderId(int orderId) {
+        return new Bill(orderId, createdAt, clientName, clientAddress, clientEmail, productName, quantity, price);
+    }
+
+    /**
+     * @return The name of the text file of the bill, made of the date and the client name
+     */
+    public String getFileName() {
+        return FILE_NAME_FORMAT.format(createdAt) + "_" + clientName + ".txt";
+    }
+
+    /**
+     * @return The text of the bill
+     */
+    public String render() {
+        return "Client name: " + clientName + "\n"
+                + "Address: " + clientAddress + "\n"
+                + "Email: " + clientEmail + "\n\n"
+                + "Product: " + productName + "\n"
+                + "Quantity: " + quantity + "\n"
+                + "Price per unit: " + price + "\n\n"
+                + "Total cost: " + (quantity * price) + "\n";
+    }
+
+    /**
+     * @return The text of the bill encoded as UTF-8
+     */
+    public byte[] toBytes() {
+        return render().getBytes(StandardCharsets.UTF_8);
+    }
+
+    public Integer getOrderId() {
+        return orderId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public String getClientName() {
+        return clientName;
+    }
+
+    public String getClientAddress() {
+        return clientAddress;
+    }
+
+    public String getClientEmail() {
+        return clientEmail;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public int getPrice() {
+        return price;
+    }
+
+    /**
+     * Encodes the fields of the bill in binary form, starting with the order id. The result can
+     * be decoded with {@link #decode(ByteBuffer)}.
+     *
+     * @return The encoded bill
+     */
+    public byte[] encode() {
+        byte[][] strings = {
+                bytes(clientName), bytes(clientAddress), bytes(clientEmail), bytes(productName)
+        };
+        int size = Integer.BYTES + Long.BYTES + 2 * Integer.BYTES;
+        for (byte[] string : strings) {
+            size += Integer.BYTES + (string != null ? string.length : 0);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(orderId != null ? orderId : NO_ORDER);
+        buffer.putLong(createdAt.toInstant(ZoneOffset.UTC).toEpochMilli());
+        buffer.putInt(quantity);
+        buffer.putInt(price);
+        for (byte[] string : strings) {
+            if (string == null) {
+                buffer.putInt(-1);
+            } else {
+                buffer.putInt(string.length);
+                buffer.put(string);
+            }
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Decodes a bill written by {@link #encode()}, starting at the position of the buffer.
+     *
+     * @param body Buffer holding the encoded bill
+     * @return The decoded bill
+     * @throws IllegalStateException Thrown if the buffer does not hold a whole bill
+     */
+    public static Bill decode(ByteBuffer body) {
+        try {
+            int orderId = body.getInt();
+            LocalDateTime createdAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(body.getLong()), ZoneOffset.UTC);
+            int quantity = body.getInt();
+            int price = body.getInt();
+            String clientName = string(body);
+            String clientAddress = string(body);
+            String clientEmail = string(body);
+            String productName = string(body);
+            return new Bill(orderId != NO_ORDER ? orderId : null, createdAt, clientName, clientAddress, clientEmail,
+                    productName, quantity, price);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalStateException("Malformed encoded bill", e);
+        }
+    }
+
+    private static byte[] bytes(String string) {
+        return string != null ? string.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static String string(ByteBuffer body) {
+        int length = body.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        body.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
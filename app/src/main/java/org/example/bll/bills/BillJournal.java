@@ -0,0 +1,198 @@
+package org.example.bll.bills;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only journal of bills, stored in segment files of a fixed size which are mapped in
+ * memory. When a bill does not fit in the current segment, a new segment is started. An index
+ * from the order id to the position of its bill is kept in memory, so any bill can be read back
+ * without scanning the journal; the index is rebuilt from the segments when the journal is
+ * opened.
+ * <p>
+ * Every record is made of its length, the CRC32 of its body and the body, which holds the
+ * bill encoded by {@link Bill#encode()}. The unused end of a segment is filled with zeros, so a
+ * length of zero marks the end of the records. A record with a wrong checksum, left by a crash in the middle
+ * of a write, ends the journal and is overwritten by the next bill.
+ *
+ * @author Stoica Irina
+ * @since Oct 18, 2026
+ */
+public class BillJournal implements BillSink {
+
+    private static final Logger LOGGER = Logger.getLogger(BillJournal.class.getName());
+    private static final String SEGMENT_PREFIX = "bills-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final int HEADER_SIZE = 2 * Integer.BYTES;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private final Map<Integer, Long> index = new HashMap<>();
+    private MappedByteBuffer current;
+
+    /**
+     * Opens the journal in the given directory, creating it if needed, and rebuilds the index.
+     *
+     * @param directory The directory of the segment files
+     * @param segmentSize Size of a segment file in bytes
+     * @throws IOException Thrown if the segments cannot be opened
+     */
+    public BillJournal(Path directory, int segmentSize) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(directory);
+        TreeMap<Integer, Path> files = new TreeMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : stream) {
+                String name = file.getFileName().toString();
+                files.put(Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())), file);
+            }
+        }
+        for (Path file : files.values()) {
+            MappedByteBuffer segment = map(file, Math.max(segmentSize, (int) Files.size(file)));
+            recover(segments.size(), segment);
+            segments.add(segment);
+        }
+        if (segments.isEmpty()) {
+            roll();
+        } else {
+            current = segments.get(segments.size() - 1);
+        }
+    }
+
+    private MappedByteBuffer map(Path file, int size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    /**
+     * Reads the records of a segment, adds them to the index and leaves the position of the
+     * segment after the last valid record.
+     */
+    private void recover(int segmentNumber, MappedByteBuffer segment) {
+        int position = 0;
+        while (position + HEADER_SIZE <= segment.capacity()) {
+            int length = segment.getInt(position);
+            if (length <= 0 || position + HEADER_SIZE + length > segment.capacity()) {
+                break;
+            }
+            ByteBuffer body = slice(segment, position + HEADER_SIZE, length);
+            if (checksum(body.duplicate()) != segment.getInt(position + Integer.BYTES)) {
+                LOGGER.log(Level.WARNING, "Bill journal segment " + segmentNumber + " has a damaged record at "
+                        + position + ", the records after it are ignored");
+                break;
+            }
+            int orderId = body.getInt(0);
+            if (orderId != Bill.NO_ORDER) {
+                index.put(orderId, address(segmentNumber, position));
+            }
+            position += HEADER_SIZE + length;
+        }
+        segment.position(position);
+    }
+
+    private void roll() throws IOException {
+        Path file = directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, segments.size(), SEGMENT_SUFFIX));
+        current = map(file, segmentSize);
+        segments.add(current);
+    }
+
+    /**
+     * Appends a bill to the journal and adds it to the index.
+     *
+     * @param bill The bill to be written
+     * @throws IOException Thrown if the bill is larger than a segment or a new segment cannot be
+     * created
+     */
+    @Override
+    public synchronized void write(Bill bill) throws IOException {
+        byte[] body = bill.encode();
+        if (HEADER_SIZE + body.length > segmentSize) {
+            throw new IOException("The bill of order " + bill.getOrderId() + " does not fit in a journal segment");
+        }
+        if (current.remaining() < HEADER_SIZE + body.length) {
+            roll();
+        }
+        int position = current.position();
+        current.putInt(position + HEADER_SIZE - Integer.BYTES, checksum(ByteBuffer.wrap(body)));
+        current.position(position + HEADER_SIZE);
+        current.put(body);
+        // the length is written last, so a record is only visible once it is complete
+        current.putInt(position, body.length);
+        if (bill.getOrderId() != null) {
+            index.put(bill.getOrderId(), address(segments.size() - 1, position));
+        }
+    }
+
+    /**
+     * The records are in mapped memory, so they are visible as soon as they are written. A sync
+     * forces the current segment to the disk.
+     */
+    @Override
+    public synchronized void flush(boolean sync) {
+        if (sync) {
+            current.force();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        current.force();
+    }
+
+    /**
+     * Reads the bill of an order back from the journal.
+     *
+     * @param orderId Id of the order
+     * @return The bill of the order, or null if the journal has no bill for it
+     */
+    public synchronized Bill read(int orderId) {
+        Long address = index.get(orderId);
+        if (address == null) {
+            return null;
+        }
+        MappedByteBuffer segment = segments.get((int) (address >>> 32));
+        int position = (int) (long) address;
+        return Bill.decode(slice(segment, position + HEADER_SIZE, segment.getInt(position)));
+    }
+
+    /**
+     * @return Number of bills in the index
+     */
+    public synchronized int size() {
+        return index.size();
+    }
+
+    private static long address(int segmentNumber, int position) {
+        return ((long) segmentNumber << 32) | position;
+    }
+
+    private static ByteBuffer slice(ByteBuffer segment, int position, int length) {
+        ByteBuffer slice = segment.duplicate();
+        slice.position(position).limit(position + length);
+        return slice.slice();
+    }
+
+    private static int checksum(ByteBuffer body) {
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        return (int) crc.getValue();
+    }
+}
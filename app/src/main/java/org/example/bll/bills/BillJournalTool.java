@@ -0,0 +1,35 @@
+package org.example.bll.bills;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Prints the bills of the given orders from a bill journal, in the same form as the bill files.
+ * Usage: {@code BillJournalTool <journal directory> <order id>...}
+ *
+ * @author Stoica Irina
+ * @since Oct 18, 2026
+ */
+public class BillJournalTool {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BillJournalTool <journal directory> <order id>...");
+            System.exit(2);
+        }
+        BillJournal journal = new BillJournal(Paths.get(args[0]), BillWriter.SEGMENT_SIZE);
+        int missing = 0;
+        for (int i = 1; i < args.length; i++) {
+            Bill bill = journal.read(Integer.parseInt(args[i]));
+            if (bill == null) {
+                System.err.println("No bill was found for order " + args[i]);
+                missing++;
+                continue;
+            }
+            System.out.println(bill.getFileName());
+            System.out.println(bill.render());
+        }
+        journal.close();
+        System.exit(missing == 0 ? 0 : 1);
+    }
+}
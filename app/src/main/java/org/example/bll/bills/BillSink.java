@@ -0,0 +1,36 @@
+package org.example.bll.bills;
+
+import java.io.IOException;
+
+/**
+ * Destination of the bills written by the {@link BillWriter}. The writer calls the sink from its
+ * own thread only, so implementations do not need to be thread safe.
+ *
+ * @author Stoica Irina
+ * @since Oct 18, 2026
+ */
+public interface BillSink {
+
+    /**
+     * Writes a bill. The bill may stay in a buffer until the next {@link #flush(boolean)}.
+     *
+     * @param bill The bill to be written
+     * @throws IOException Thrown if the bill cannot be written
+     */
+    void write(Bill bill) throws IOException;
+
+    /**
+     * Makes the bills written so far visible to readers of the sink.
+     *
+     * @param sync true to also force them to the storage device
+     * @throws IOException Thrown if the bills cannot be flushed
+     */
+    void flush(boolean sync) throws IOException;
+
+    /**
+     * Flushes the remaining bills and releases the resources of the sink.
+     *
+     * @throws IOException Thrown if the sink cannot be closed
+     */
+    void close() throws IOException;
+}
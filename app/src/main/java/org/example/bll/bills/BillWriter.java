@@ -0,0 +1,207 @@
+package org.example.bll.bills;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Writes the bills in the background, so placing an order only puts its bill in a bounded
+ * queue. A writer thread takes the waiting bills in batches, writes them to the sink and
+ * flushes the sink once per batch. Whether the flush also forces the bills to the disk is set
+ * by the ordermanagement.bills.sync system property:
+ * <ul>
+ *     <li>NONE - the bills are left to the operating system,</li>
+ *     <li>BATCH - every batch is forced to the disk,</li>
+ *     <li>INTERVAL - a batch is forced if the last one was forced more than
+ *     ordermanagement.bills.syncIntervalMillis ago.</li>
+ * </ul>
+ *
+ * @author Stoica Irina
+ * @since Oct 18, 2026
+ */
+public final class BillWriter {
+
+    /**
+     * When the writer forces the bills to the disk.
+     */
+    public enum SyncPolicy {
+        NONE, BATCH, INTERVAL
+    }
+
+    private static final Logger LOGGER = Logger.getLogger(BillWriter.class.getName());
+    private static final String DIRECTORY = System.getProperty("ordermanagement.bills.directory", ".");
+    private static final String SINK = System.getProperty("ordermanagement.bills.sink", "journal");
+    static final int SEGMENT_SIZE = Integer.getInteger("ordermanagement.bills.segmentSize", 64 * 1024 * 1024);
+    private static final int CAPACITY = Integer.getInteger("ordermanagement.bills.capacity", 1024);
+    private static final int MAX_BATCH = Integer.getInteger("ordermanagement.bills.maxBatch", 64);
+    private static final SyncPolicy SYNC = SyncPolicy.valueOf(System.getProperty("ordermanagement.bills.sync", "INTERVAL"));
+    private static final long SYNC_INTERVAL = Long.getLong("ordermanagement.bills.syncIntervalMillis", 1_000L);
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+
+    private static volatile BillWriter instance;
+
+    private final BlockingQueue<Bill> queue;
+    private final BillSink sink;
+    private final int maxBatch;
+    private final SyncPolicy syncPolicy;
+    private final long syncIntervalNanos;
+    private final Thread writer;
+    private volatile boolean running = true;
+    private long lastSync = System.nanoTime();
+
+    /**
+     * @param sink Destination of the bills
+     * @param capacity Maximum number of bills waiting to be written
+     * @param maxBatch Maximum number of bills written between two flushes
+     * @param syncPolicy When the bills are forced to the disk
+     * @param syncIntervalMillis Time between two forced flushes, for the INTERVAL policy
+     */
+    public BillWriter(BillSink sink, int capacity, int maxBatch, SyncPolicy syncPolicy, long syncIntervalMillis) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.sink = sink;
+        this.maxBatch = maxBatch;
+        this.syncPolicy = syncPolicy;
+        this.syncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(syncIntervalMillis);
+        this.writer = new Thread(this::run, "bill-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * @return The bill writer of the application, started the first time it is used
+     */
+    public static BillWriter getInstance() {
+        BillWriter billWriter = instance;
+        if (billWriter == null) {
+            synchronized (BillWriter.class) {
+                billWriter = instance;
+                if (billWriter == null) {
+                    billWriter = new BillWriter(createSink(), CAPACITY, MAX_BATCH, SYNC, SYNC_INTERVAL);
+                    instance = billWriter;
+                }
+            }
+        }
+        return billWriter;
+    }
+
+    /**
+     * Creates the sink chosen by the ordermanagement.bills.sink system property: "journal" for a
+     * {@link BillJournal} in the bill-journal subdirectory, or "files" for one text file per bill.
+     * If the journal cannot be opened, the bills are written as files.
+     */
+    private static BillSink createSink() {
+        if ("journal".equals(SINK)) {
+            try {
+                return new BillJournal(Paths.get(DIRECTORY, "bill-journal"), SEGMENT_SIZE);
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Could not open the bill journal, writing bill files instead " + e.getMessage());
+            }
+        }
+        return new FileBillSink(Paths.get(DIRECTORY));
+    }
+
+    /**
+     * @return The sink the bills are written to
+     */
+    public BillSink getSink() {
+        return sink;
+    }
+
+    /**
+     * Writes the bills still in the queue and stops the bill writer of the application. Does
+     * nothing if it was never started.
+     */
+    public static void shutdown() {
+        BillWriter billWriter = instance;
+        if (billWriter != null) {
+            billWriter.stop();
+        }
+    }
+
+    /**
+     * Puts a bill in the queue, waiting for a free place if the queue is full.
+     *
+     * @param bill The bill to be written
+     */
+    public void submit(Bill bill) {
+        if (!running) {
+            LOGGER.log(Level.WARNING, "The bill writer is stopped, the bill of order " + bill.getOrderId() + " was not written");
+            return;
+        }
+        try {
+            queue.put(bill);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.log(Level.WARNING, "Interrupted, the bill of order " + bill.getOrderId() + " was not written");
+        }
+    }
+
+    /**
+     * Stops accepting bills, waits until the bills in the queue are written and closes the sink.
+     */
+    public void stop() {
+        running = false;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return Number of bills waiting to be written
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    private void run() {
+        List<Bill> batch = new ArrayList<>(maxBatch);
+        try {
+            while (running || !queue.isEmpty()) {
+                Bill first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatch - 1);
+                writeBatch(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            try {
+                sink.close();
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Could not close the bill sink " + e.getMessage());
+            }
+        }
+    }
+
+    private void writeBatch(List<Bill> batch) {
+        for (Bill bill : batch) {
+            try {
+                sink.write(bill);
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Could not write the bill of order " + bill.getOrderId() + " " + e.getMessage());
+            }
+        }
+        boolean sync = syncPolicy == SyncPolicy.BATCH
+                || (syncPolicy == SyncPolicy.INTERVAL && System.nanoTime() - lastSync >= syncIntervalNanos);
+        try {
+            sink.flush(sync);
+            if (sync) {
+                lastSync = System.nanoTime();
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not flush the bills " + e.getMessage());
+        }
+    }
+}
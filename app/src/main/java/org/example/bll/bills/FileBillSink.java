@@ -0,0 +1,69 @@
+package org.example.bll.bills;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Writes every bill to a text file in a directory, named after the date and the client, like
+ * the bills were always written. A bill is written with a single call on a file channel, and the
+ * channels opened by a batch of bills are kept open until the batch is flushed.
+ *
+ * @author Stoica Irina
+ * @since Oct 18, 2026
+ */
+public class FileBillSink implements BillSink {
+
+    private final Path directory;
+    private final Map<String, FileChannel> channels = new LinkedHashMap<>();
+
+    /**
+     * @param directory The directory of the bill files
+     */
+    public FileBillSink(Path directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public void write(Bill bill) throws IOException {
+        String fileName = bill.getFileName();
+        FileChannel channel = channels.get(fileName);
+        if (channel == null) {
+            channel = FileChannel.open(directory.resolve(fileName), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            channels.put(fileName, channel);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bill.toBytes());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    @Override
+    public void flush(boolean sync) throws IOException {
+        IOException failure = null;
+        for (FileChannel channel : channels.values()) {
+            try {
+                if (sync) {
+                    channel.force(false);
+                }
+                channel.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        channels.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush(false);
+    }
+}
@@ -0,0 +1,439 @@
+package org.example.bll.catalog;
+
+import org.example.bll.events.Event;
+import org.example.bll.events.EventBus;
+import org.example.dao.AbstractDAO;
+import org.example.dao.ClientDAO;
+import org.example.dao.EntityMapper;
+import org.example.dao.ProductDAO;
+import org.example.model.Client;
+import org.example.model.Product;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps a whole table in memory, ordered by id, so the screens can show it without querying the
+ * database. The catalog starts from its last {@link CatalogSnapshot} and catches up by reading
+ * the rows with an id above the watermark of the snapshot, which are the rows added since. It is
+ * then kept up to date by the business layer, which writes its changes through, and by the
+ * events of the {@link EventBus}, and it is written back to its snapshot periodically and when
+ * the application stops.
+ * <p>
+ * The tables have no version column, so the watermark cannot see rows which were changed or
+ * deleted while the application was stopped. After the start the catalog therefore compares
+ * itself with the table on a background thread and publishes an event for every row which
+ * differs, so the screens update them; the comparison is retried until it succeeds, so a
+ * catch-up which failed is repaired too. The catalog subscribes to the events before it loads,
+ * so the rows changed while it loads are reloaded afterwards.
+ * <p>
+ * The catalogs are enabled with the ordermanagement.catalog.enabled system property and their
+ * snapshots are kept in the ordermanagement.catalog.directory directory.
+ *
+ * @author Stoica Irina
+ * @since Oct 18, 2026
+ * @param <T> The model class of the table
+ */
+public final class Catalog<T> {
+
+    private static final Logger LOGGER = Logger.getLogger(Catalog.class.getName());
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("ordermanagement.catalog.enabled", "false"));
+    private static final Path DIRECTORY = Paths.get(System.getProperty("ordermanagement.catalog.directory", "catalog"));
+    private static final long SNAPSHOT_INTERVAL_SECONDS = Long.getLong("ordermanagement.catalog.snapshotIntervalSeconds", 60);
+    private static final long RETRY_DELAY_SECONDS = Long.getLong("ordermanagement.catalog.retryDelaySeconds", 10);
+    private static final int PAGE_SIZE = 1000;
+
+    private static volatile Catalog<Client> clients;
+    private static volatile Catalog<Product> products;
+    private static ScheduledExecutorService scheduler;
+
+    /**
+     * Publishes the event which tells the other subscribers that a row changed or was deleted.
+     */
+    private interface Publisher {
+        void publish(EventBus eventBus, int id, boolean deleted);
+    }
+
+    /**
+     * Gives the id of the row an event of the bus is about.
+     */
+    private interface EventId {
+        int of(Event event);
+    }
+
+    private final String name;
+    private final AbstractDAO<T> dao;
+    private final EntityMapper<T> mapper;
+    private final Path file;
+    private final Publisher publisher;
+    private final Map<Integer, T> rows = new ConcurrentSkipListMap<>();
+    private final Set<Integer> changedIds = ConcurrentHashMap.newKeySet();
+    private final Set<Integer> touchedIds = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private final AtomicBoolean reconciling = new AtomicBoolean();
+    private final EventBus eventBus = EventBus.getInstance();
+    private volatile EventBus.Subscription subscription;
+    private ScheduledExecutorService background;
+    private volatile boolean loaded;
+    private long droppedEvents;
+
+    private Catalog(String name, AbstractDAO<T> dao, Publisher publisher) {
+        this.name = name;
+        this.dao = dao;
+        this.mapper = dao.getMapper();
+        this.file = DIRECTORY.resolve(name + ".snapshot");
+        this.publisher = publisher;
+    }
+
+    /**
+     * @return The catalog of the clients, loaded the first time it is used, or null if the
+     * catalogs are disabled
+     */
+    public static Catalog<Client> getClients() {
+        if (!ENABLED) {
+            return null;
+        }
+        Catalog<Client> catalog = clients;
+        if (catalog == null) {
+            synchronized (Catalog.class) {
+                catalog = clients;
+                if (catalog == null) {
+                    catalog = new Catalog<>("clients", new ClientDAO(), (eventBus, id, deleted) -> {
+                        if (deleted) {
+                            eventBus.publishClientDeleted(id);
+                        } else {
+                            eventBus.publishClientChanged(id);
+                        }
+                    });
+                    catalog.start(event -> event.getType() == Event.Type.CLIENT_CHANGED
+                            || event.getType() == Event.Type.CLIENT_DELETED ? event.getClientId() : -1);
+                    clients = catalog;
+                }
+            }
+        }
+        return catalog;
+    }
+
+    /**
+     * @return The catalog of the products, loaded the first time it is used, or null if the
+     * catalogs are disabled
+     */
+    public static Catalog<Product> getProducts() {
+        if (!ENABLED) {
+            return null;
+        }
+        Catalog<Product> catalog = products;
+        if (catalog == null) {
+            synchronized (Catalog.class) {
+                catalog = products;
+                if (catalog == null) {
+                    catalog = new Catalog<>("products", new ProductDAO(), (eventBus, id, deleted) -> {
+                        if (deleted) {
+                            eventBus.publishProductDeleted(id);
+                        } else {
+                            eventBus.publishProductChanged(id);
+                        }
+                    });
+                    catalog.start(event -> event.getType() == Event.Type.PRODUCT_CHANGED
+                            || event.getType() == Event.Type.PRODUCT_DELETED
+                            || event.getType() == Event.Type.STOCK_CHANGED ? event.getProductId() : -1);
+                    products = catalog;
+                }
+            }
+        }
+        return catalog;
+    }
+
+    /**
+     * Stops the periodic snapshots and writes the snapshots of the catalogs which changed. Does
+     * nothing if no catalog was loaded.
+     */
+    public static void shutdown() {
+        Catalog<?>[] catalogs = {clients, products};
+        for (Catalog<?> catalog : catalogs) {
+            if (catalog != null) {
+                catalog.subscription.close();
+            }
+        }
+        synchronized (Catalog.class) {
+            if (scheduler != null) {
+                scheduler.shutdownNow();
+                try {
+                    scheduler.awaitTermination(1, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                scheduler = null;
+            }
+        }
+        for (Catalog<?> catalog : catalogs) {
+            if (catalog != null) {
+                catalog.save();
+            }
+        }
+    }
+
+    /**
+     * Subscribes to the events, loads the snapshot, catches up with the table and schedules the
+     * background work. The ids named by the events published while the catalog loads are
+     * collected and reloaded once it is loaded.
+     *
+     * @param eventId Gives the id of the row an event is about, or -1 if it is not about this table
+     */
+    private void start(EventId eventId) {
+        synchronized (Catalog.class) {
+            if (scheduler == null) {
+                scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "catalog");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            background = scheduler;
+        }
+        subscription = eventBus.subscribe("catalog-" + name, (event, sequence, endOfBatch) -> {
+            int id = eventId.of(event);
+            if (id > 0) {
+                changedIds.add(id);
+            }
+            if (endOfBatch && loaded) {
+                refreshChanged();
+            }
+        }, false);
+        long start = System.nanoTime();
+        int watermark = loadSnapshot();
+        int snapshotRows = rows.size();
+        boolean caughtUp = catchUp(watermark);
+        LOGGER.log(Level.INFO, "Catalog " + name + " loaded " + snapshotRows + " rows from its snapshot and "
+                + (rows.size() - snapshotRows) + " from the database in "
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms"
+                + (caughtUp ? "" : ", the rest is loaded in the background"));
+        loaded = true;
+        background.execute(this::refreshChanged);
+        background.execute(this::reconcile);
+        background.scheduleWithFixedDelay(this::save, SNAPSHOT_INTERVAL_SECONDS, SNAPSHOT_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * @return The watermark of the snapshot, or 0 if there is no usable snapshot
+     */
+    private int loadSnapshot() {
+        try {
+            CatalogSnapshot<T> snapshot = CatalogSnapshot.read(file, mapper);
+            for (int row = 0; row < snapshot.size(); row++) {
+                T t = snapshot.get(row);
+                rows.put(idOf(t), t);
+            }
+            return snapshot.getWatermark();
+        } catch (NoSuchFileException e) {
+            return 0;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "The snapshot of the " + name + " catalog cannot be used " + e.getMessage());
+            rows.clear();
+            return 0;
+        }
+    }
+
+    /**
+     * Reads the rows added after the snapshot was taken, one page at a time.
+     *
+     * @return true if all the rows were read, false if a page could not be read
+     */
+    private boolean catchUp(int watermark) {
+        int afterId = watermark;
+        List<T> page;
+        do {
+            page = dao.findPage(afterId, PAGE_SIZE);
+            if (page == null) {
+                LOGGER.log(Level.WARNING, "The " + name + " catalog could not read the rows after id " + afterId);
+                return false;
+            }
+            for (T t : page) {
+                afterId = idOf(t);
+                rows.put(afterId, t);
+                dirty.set(true);
+            }
+        } while (page.size() == PAGE_SIZE);
+        return true;
+    }
+
+    /**
+     * Reloads the rows named by the events of the last batch. If the subscription skipped events,
+     * the whole catalog is compared with the table instead.
+     */
+    private synchronized void refreshChanged() {
+        long dropped = subscription.getDroppedCount();
+        if (dropped != droppedEvents) {
+            droppedEvents = dropped;
+            changedIds.clear();
+            background.execute(this::reconcile);
+            return;
+        }
+        List<Integer> ids = new ArrayList<>(changedIds);
+        if (ids.isEmpty()) {
+            return;
+        }
+        changedIds.removeAll(ids);
+        Map<Integer, T> found = dao.findByIds(ids);
+        if (found == null) {
+            changedIds.addAll(ids);
+            return;
+        }
+        for (Integer id : ids) {
+            T t = found.get(id);
+            if (t == null) {
+                remove(id);
+            } else {
+                put(t);
+            }
+        }
+    }
+
+    /**
+     * Compares the catalog with the table and fixes and publishes every row which differs. The
+     * rows written through while the comparison runs are left alone, since the cursor may have
+     * read them before they changed. If no row could be read, nothing is deleted, since the
+     * query may have failed. If the table cannot be read, the comparison is tried again later.
+     */
+    private void reconcile() {
+        if (!reconciling.compareAndSet(false, true)) {
+            return;
+        }
+        touchedIds.clear();
+        try {
+            Set<Integer> missing = new HashSet<>(rows.keySet());
+            int[] read = new int[1];
+            dao.forEach(t -> {
+                int id = idOf(t);
+                read[0]++;
+                missing.remove(id);
+                if (touchedIds.contains(id) || sameValues(rows.get(id), t)) {
+                    return;
+                }
+                rows.put(id, t);
+                dirty.set(true);
+                publisher.publish(eventBus, id, false);
+            });
+            for (Integer id : read[0] == 0 ? Set.<Integer>of() : missing) {
+                if (!touchedIds.contains(id) && rows.remove(id) != null) {
+                    dirty.set(true);
+                    publisher.publish(eventBus, id, true);
+                }
+            }
+        } catch (IllegalStateException e) {
+            LOGGER.log(Level.WARNING, "The " + name + " catalog could not be compared with the database, retrying in "
+                    + RETRY_DELAY_SECONDS + " s " + e.getMessage());
+            try {
+                background.schedule(this::reconcile, RETRY_DELAY_SECONDS, TimeUnit.SECONDS);
+            } catch (RejectedExecutionException stopped) {
+                // The catalogs were shut down
+            }
+        } finally {
+            reconciling.set(false);
+        }
+    }
+
+    private boolean sameValues(T cached, T t) {
+        if (cached == null) {
+            return false;
+        }
+        for (int i = 0; i < mapper.getColumns().size(); i++) {
+            if (!Objects.equals(mapper.getValue(cached, i), mapper.getValue(t, i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes the snapshot if the catalog changed since it was last written.
+     */
+    private void save() {
+        if (!dirty.getAndSet(false)) {
+            return;
+        }
+        try {
+            Files.createDirectories(DIRECTORY);
+            CatalogSnapshot.write(file, mapper, rows.values());
+        } catch (IOException | RuntimeException e) {
+            dirty.set(true);
+            LOGGER.log(Level.WARNING, "The snapshot of the " + name + " catalog could not be written " + e.getMessage());
+        }
+    }
+
+    private int idOf(T t) {
+        return (Integer) mapper.getId(t);
+    }
+
+    /**
+     * @return All the rows, ordered by id
+     */
+    public List<T> findAll() {
+        return new ArrayList<>(rows.values());
+    }
+
+    /**
+     * @param id Id of the row
+     * @return The row, or null if it is not in the catalog
+     */
+    public T find(int id) {
+        return rows.get(id);
+    }
+
+    /**
+     * Adds or replaces a row which was just written to the database.
+     *
+     * @param t The row, with its id set
+     */
+    public void put(T t) {
+        int id = idOf(t);
+        touchedIds.add(id);
+        rows.put(id, t);
+        dirty.set(true);
+    }
+
+    /**
+     * Removes a row which was just deleted from the database.
+     *
+     * @param id Id of the row
+     */
+    public void remove(int id) {
+        touchedIds.add(id);
+        if (rows.remove(id) != null) {
+            dirty.set(true);
+        }
+    }
+
+    /**
+     * @param action Action called for every row, in the order of the ids
+     */
+    public void forEach(Consumer<? super T> action) {
+        rows.values().forEach(action);
+    }
+
+    /**
+     * @return Number of rows in the catalog
+     */
+    public int size() {
+        return rows.size();
+    }
+}
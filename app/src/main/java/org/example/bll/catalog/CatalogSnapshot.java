@@ -0,0 +1,345 @@
+package org.example.bll.catalog;
+
+import org.example.dao.EntityMapper;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * A binary snapshot of a table, stored column by column in a file which is mapped in memory
+ * when it is read. Every column is a block of fixed width values, or of offsets followed by the
+ * UTF-8 bytes for text, preceded by a bitmap of the null values. Reading a snapshot only maps the
+ * file and decodes the rows, no parsing or database access is needed.
+ * <p>
+ * The file starts with a header holding the number of rows and columns, the watermark, which is
+ * the largest id in the snapshot, and the CRC32 of the rest of the file. A directory of the
+ * columns, with their names, types and positions, follows. Columns are matched by name when
+ * the snapshot is read, so a column added to the model is simply left unset.
+ *
+ * @author Stoica Irina
+ * @since Oct 18, 2026
+ * @param <T> The model class of the rows
+ */
+public final class CatalogSnapshot<T> {
+
+    private static final int MAGIC = 0x43415431;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 5 * Integer.BYTES + Long.BYTES + Integer.BYTES;
+
+    /**
+     * The type of the values of a column.
+     */
+    private enum Kind {
+        NULL(0), INT(Integer.BYTES), LONG(Long.BYTES), DOUBLE(Double.BYTES), BOOLEAN(1), STRING(Integer.BYTES);
+
+        private final int width;
+
+        Kind(int width) {
+            this.width = width;
+        }
+
+        static Kind of(Object value) {
+            if (value instanceof Integer) {
+                return INT;
+            }
+            if (value instanceof Long) {
+                return LONG;
+            }
+            if (value instanceof Double) {
+                return DOUBLE;
+            }
+            if (value instanceof Boolean) {
+                return BOOLEAN;
+            }
+            if (value instanceof String) {
+                return STRING;
+            }
+            throw new IllegalArgumentException("Cannot store a " + value.getClass().getName() + " in a snapshot");
+        }
+    }
+
+    private final EntityMapper<T> mapper;
+    private final ByteBuffer buffer;
+    private final int rowCount;
+    private final int watermark;
+    private final long createdMillis;
+    private final int[] fields;
+    private final Kind[] kinds;
+    private final int[] offsets;
+
+    private CatalogSnapshot(EntityMapper<T> mapper, ByteBuffer buffer) throws IOException {
+        this.mapper = mapper;
+        this.buffer = buffer;
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not a catalog snapshot");
+        }
+        rowCount = buffer.getInt(8);
+        int columnCount = buffer.getInt(12);
+        watermark = buffer.getInt(16);
+        createdMillis = buffer.getLong(20);
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().position(HEADER_SIZE));
+        if ((int) crc.getValue() != buffer.getInt(28)) {
+            throw new IOException("The catalog snapshot is damaged");
+        }
+        List<String> columns = mapper.getColumns();
+        fields = new int[columnCount];
+        kinds = new Kind[columnCount];
+        offsets = new int[columnCount];
+        ByteBuffer directory = buffer.duplicate().position(HEADER_SIZE);
+        for (int i = 0; i < columnCount; i++) {
+            byte[] name = new byte[directory.getShort()];
+            directory.get(name);
+            fields[i] = columns.indexOf(new String(name, StandardCharsets.UTF_8));
+            kinds[i] = Kind.values()[directory.get()];
+            offsets[i] = directory.getInt();
+        }
+    }
+
+    /**
+     * Maps a snapshot file and checks its checksum.
+     *
+     * @param file The snapshot file
+     * @param mapper Mapper of the model class, used to create the rows
+     * @param <T> The model class
+     * @return The snapshot
+     * @throws IOException Thrown if the file cannot be read, is not a snapshot or is damaged
+     */
+    public static <T> CatalogSnapshot<T> read(Path file, EntityMapper<T> mapper) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new CatalogSnapshot<>(mapper, buffer);
+        }
+    }
+
+    /**
+     * Writes the rows to a snapshot file. The file is written under a temporary name and renamed,
+     * so a reader never sees a partly written snapshot.
+     *
+     * @param file The snapshot file, which is replaced if it exists
+     * @param mapper Mapper of the model class, which gives the columns and the values
+     * @param rows The rows of the snapshot
+     * @param <T> The model class
+     * @throws IOException Thrown if the file cannot be written
+     * @throws IllegalArgumentException Thrown if a column has values of different types, or of a
+     * type which cannot be stored
+     */
+    public static <T> void write(Path file, EntityMapper<T> mapper, Collection<T> rows) throws IOException {
+        List<T> list = new ArrayList<>(rows);
+        List<String> columns = mapper.getColumns();
+        List<ByteBuffer> blocks = new ArrayList<>(columns.size());
+        Kind[] kinds = new Kind[columns.size()];
+        byte[][] names = new byte[columns.size()][];
+        int watermark = 0;
+        for (T t : list) {
+            Object id = mapper.getId(t);
+            if (id instanceof Integer) {
+                watermark = Math.max(watermark, (Integer) id);
+            }
+        }
+        int directorySize = 0;
+        for (int i = 0; i < columns.size(); i++) {
+            kinds[i] = kindOf(mapper, list, i);
+            blocks.add(encodeColumn(mapper, list, i, kinds[i]));
+            names[i] = columns.get(i).getBytes(StandardCharsets.UTF_8);
+            directorySize += Short.BYTES + names[i].length + 1 + Integer.BYTES;
+        }
+        ByteBuffer directory = ByteBuffer.allocate(directorySize);
+        int position = HEADER_SIZE + directorySize;
+        for (int i = 0; i < columns.size(); i++) {
+            directory.putShort((short) names[i].length).put(names[i]).put((byte) kinds[i].ordinal()).putInt(position);
+            position += blocks.get(i).remaining();
+        }
+        directory.flip();
+        CRC32 crc = new CRC32();
+        crc.update(directory.duplicate());
+        for (ByteBuffer block : blocks) {
+            crc.update(block.duplicate());
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).putInt(list.size()).putInt(columns.size()).putInt(watermark)
+                .putLong(System.currentTimeMillis()).putInt((int) crc.getValue()).flip();
+
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            List<ByteBuffer> all = new ArrayList<>(blocks.size() + 2);
+            all.add(header);
+            all.add(directory);
+            all.addAll(blocks);
+            ByteBuffer[] buffers = all.toArray(new ByteBuffer[0]);
+            long remaining = position;
+            while (remaining > 0) {
+                remaining -= channel.write(buffers);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static <T> Kind kindOf(EntityMapper<T> mapper, List<T> rows, int column) {
+        Kind kind = Kind.NULL;
+        for (T t : rows) {
+            Object value = mapper.getValue(t, column);
+            if (value == null) {
+                continue;
+            }
+            Kind valueKind = Kind.of(value);
+            if (kind != Kind.NULL && kind != valueKind) {
+                throw new IllegalArgumentException("The column " + mapper.getColumns().get(column) + " has values of different types");
+            }
+            kind = valueKind;
+        }
+        return kind;
+    }
+
+    /**
+     * Encodes a column as the bitmap of the null values followed by the values.
+     */
+    private static <T> ByteBuffer encodeColumn(EntityMapper<T> mapper, List<T> rows, int column, Kind kind) {
+        int bitmapSize = (rows.size() + 7) >>> 3;
+        byte[][] strings = kind == Kind.STRING ? new byte[rows.size()][] : null;
+        int size = bitmapSize;
+        if (kind == Kind.STRING) {
+            size += (rows.size() + 1) * Integer.BYTES;
+            for (int row = 0; row < rows.size(); row++) {
+                Object value = mapper.getValue(rows.get(row), column);
+                strings[row] = value == null ? new byte[0] : ((String) value).getBytes(StandardCharsets.UTF_8);
+                size += strings[row].length;
+            }
+        } else {
+            size += rows.size() * kind.width;
+        }
+        ByteBuffer block = ByteBuffer.allocate(size);
+        int stringOffset = 0;
+        for (int row = 0; row < rows.size(); row++) {
+            Object value = mapper.getValue(rows.get(row), column);
+            if (value == null) {
+                block.put(row >>> 3, (byte) (block.get(row >>> 3) | 1 << (row & 7)));
+            }
+            int at = bitmapSize + row * kind.width;
+            switch (kind) {
+                case INT:
+                    block.putInt(at, value == null ? 0 : (Integer) value);
+                    break;
+                case LONG:
+                    block.putLong(at, value == null ? 0 : (Long) value);
+                    break;
+                case DOUBLE:
+                    block.putDouble(at, value == null ? 0 : (Double) value);
+                    break;
+                case BOOLEAN:
+                    block.put(at, (byte) (Boolean.TRUE.equals(value) ? 1 : 0));
+                    break;
+                case STRING:
+                    block.putInt(at, stringOffset);
+                    stringOffset += strings[row].length;
+                    break;
+                default:
+                    break;
+            }
+        }
+        if (kind == Kind.STRING) {
+            int data = bitmapSize + (rows.size() + 1) * Integer.BYTES;
+            block.putInt(data - Integer.BYTES, stringOffset);
+            block.position(data);
+            for (byte[] string : strings) {
+                block.put(string);
+            }
+        }
+        block.position(0);
+        return block;
+    }
+
+    /**
+     * @return Number of rows in the snapshot
+     */
+    public int size() {
+        return rowCount;
+    }
+
+    /**
+     * @return The largest id in the snapshot; rows with larger ids were added after it was taken
+     */
+    public int getWatermark() {
+        return watermark;
+    }
+
+    /**
+     * @return The time the snapshot was written, in milliseconds since the epoch
+     */
+    public long getCreatedMillis() {
+        return createdMillis;
+    }
+
+    /**
+     * Decodes a row from the mapped columns.
+     *
+     * @param row Index of the row, from 0 to {@link #size()} - 1
+     * @return A new object with the values of the row
+     */
+    public T get(int row) {
+        if (row < 0 || row >= rowCount) {
+            throw new IndexOutOfBoundsException("The snapshot has no row " + row);
+        }
+        T t = mapper.newInstance();
+        int bitmapSize = (rowCount + 7) >>> 3;
+        for (int i = 0; i < kinds.length; i++) {
+            if (fields[i] < 0 || kinds[i] == Kind.NULL
+                    || (buffer.get(offsets[i] + (row >>> 3)) & 1 << (row & 7)) != 0) {
+                continue;
+            }
+            int at = offsets[i] + bitmapSize + row * kinds[i].width;
+            Object value;
+            switch (kinds[i]) {
+                case INT:
+                    value = buffer.getInt(at);
+                    break;
+                case LONG:
+                    value = buffer.getLong(at);
+                    break;
+                case DOUBLE:
+                    value = buffer.getDouble(at);
+                    break;
+                case BOOLEAN:
+                    value = buffer.get(at) != 0;
+                    break;
+                default:
+                    value = readString(i, at, bitmapSize);
+                    break;
+            }
+            mapper.setValue(t, fields[i], value);
+        }
+        return t;
+    }
+
+    private String readString(int column, int at, int bitmapSize) {
+        int start = buffer.getInt(at);
+        int end = buffer.getInt(at + Integer.BYTES);
+        byte[] bytes = new byte[end - start];
+        buffer.duplicate().position(offsets[column] + bitmapSize + (rowCount + 1) * Integer.BYTES + start).get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return All the rows of the snapshot, in the order they were written
+     */
+    public List<T> toList() {
+        List<T> rows = new ArrayList<>(rowCount);
+        for (int row = 0; row < rowCount; row++) {
+            rows.add(get(row));
+        }
+        return rows;
+    }
+}
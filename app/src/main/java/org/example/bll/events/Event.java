@@ -0,0 +1,85 @@
+package org.example.bll.events;
+
+/**
+ * A slot of the {@link EventBus} ring buffer. The slots are created once and reused for every
+ * event published in them, so a handler must copy the fields it needs before it returns.
+ * Fields which do not apply to the type of the event are -1.
+ *
+ * @author Stoica Irina
+ * @since Oct 18, 2026
+ */
+public final class Event {
+
+    /**
+     * What happened.
+     */
+    public enum Type {
+        /** An order was saved: orderId, clientId, productId and quantity are set. */
+        ORDER_PLACED,
+        /** The stock of productId changed: quantity is the new stock, or -1 if it is not known. */
+        STOCK_CHANGED,
+        /** The client with clientId was inserted or updated. */
+        CLIENT_CHANGED,
+        /** The client with clientId was deleted. */
+        CLIENT_DELETED,
+        /** The product with productId was inserted or updated. */
+        PRODUCT_CHANGED,
+        /** The product with productId was deleted. */
+        PRODUCT_DELETED,
+        /**
+         * An order accepted in the order log could not be saved and was dropped: clientId,
+         * productId and quantity are set.
+         */
+        ORDER_REFUSED
+    }
+
+    private Type type;
+    private int orderId;
+    private int clientId;
+    private int productId;
+    private int quantity;
+    private long timestamp;
+
+    Event() { }
+
+    void set(Type type, int orderId, int clientId, int productId, int quantity) {
+        this.type = type;
+        this.orderId = orderId;
+        this.clientId = clientId;
+        this.productId = productId;
+        this.quantity = quantity;
+        this.timestamp = System.currentTimeMillis();
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getOrderId() {
+        return orderId;
+    }
+
+    public int getClientId() {
+        return clientId;
+    }
+
+    public int getProductId() {
+        return productId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    /**
+     * @return The time the event was published, in milliseconds since the epoch
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public String toString() {
+        return type + " order=" + orderId + " client=" + clientId + " product=" + productId + " quantity=" + quantity;
+    }
+}
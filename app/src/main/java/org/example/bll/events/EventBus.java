@@ -0,0 +1,256 @@
+package org.example.bll.events;
+
+import java.lang.invoke.VarHandle;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Publishes the events of the business layer to the parts of the application which want to
+ * react to them, without polling the database. The events are written in a ring buffer of
+ * reusable slots, so publishing allocates nothing. Every subscription has its own thread and
+ * its own sequence, the number of the last event it handled.
+ * <p>
+ * A gating subscription never misses an event: when the buffer is full, the publisher waits
+ * until the slowest gating subscription handled the oldest event. A lossy subscription never
+ * makes the publisher wait; if it falls a whole buffer behind, it skips to the oldest event still
+ * in the buffer and the skipped events are counted. The publishers are serialized, so the
+ * buffer has a single writer at any time.
+ *
+ * @author Stoica Irina
+ * @since Oct 18, 2026
+ */
+public final class EventBus {
+
+    private static final Logger LOGGER = Logger.getLogger(EventBus.class.getName());
+    private static final int BUFFER_SIZE = Integer.getInteger("ordermanagement.events.bufferSize", 1024);
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private static final EventBus INSTANCE = new EventBus(BUFFER_SIZE);
+
+    /**
+     * A consumer of the events, with its own thread and sequence.
+     */
+    public final class Subscription implements AutoCloseable {
+        private final EventHandler handler;
+        private final boolean gating;
+        private final AtomicLong sequence;
+        private final Event copy = new Event();
+        private final LongAdder dropped = new LongAdder();
+        private final Thread thread;
+        private volatile boolean running = true;
+
+        private Subscription(String name, EventHandler handler, boolean gating) {
+            this.handler = handler;
+            this.gating = gating;
+            this.sequence = new AtomicLong(cursor.get());
+            this.thread = new Thread(this::run, "event-" + name);
+            thread.setDaemon(true);
+        }
+
+        private void run() {
+            while (running) {
+                long available = cursor.get();
+                long next = sequence.get() + 1;
+                if (next > available) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                    continue;
+                }
+                for (; next <= available && running; next++) {
+                    if (gating) {
+                        dispatch(slots[(int) (next & mask)], next, next == available);
+                    } else {
+                        next = readLossy(next, available);
+                    }
+                    sequence.set(next);
+                }
+            }
+        }
+
+        /**
+         * Copies the slot before handling it and checks afterwards that it was not overwritten
+         * in the meantime; if the subscription fell behind, it skips to the oldest event left.
+         *
+         * @return The sequence of the event which was handled or skipped to
+         */
+        private long readLossy(long next, long available) {
+            long oldest = claimed.get() - slots.length + 1;
+            if (next < oldest) {
+                dropped.add(oldest - next);
+                return oldest - 1;
+            }
+            Event slot = slots[(int) (next & mask)];
+            copy.set(slot.getType(), slot.getOrderId(), slot.getClientId(), slot.getProductId(), slot.getQuantity());
+            VarHandle.acquireFence();
+            if (next < claimed.get() - slots.length + 1) {
+                dropped.increment();
+                return next;
+            }
+            dispatch(copy, next, next == available);
+            return next;
+        }
+
+        private void dispatch(Event event, long next, boolean endOfBatch) {
+            try {
+                handler.onEvent(event, next, endOfBatch);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Event handler of " + thread.getName() + " failed on " + event, e);
+            }
+        }
+
+        /**
+         * @return The sequence of the last event handled
+         */
+        public long getSequence() {
+            return sequence.get();
+        }
+
+        /**
+         * @return Number of events a lossy subscription skipped because it fell behind
+         */
+        public long getDroppedCount() {
+            return dropped.sum();
+        }
+
+        /**
+         * Stops the subscription. The events published afterwards are no longer handled.
+         */
+        @Override
+        public void close() {
+            running = false;
+            subscriptions.remove(this);
+            LockSupport.unpark(thread);
+            if (Thread.currentThread() != thread) {
+                try {
+                    thread.join(TimeUnit.SECONDS.toMillis(1));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    private final Event[] slots;
+    private final int mask;
+    private final AtomicLong cursor = new AtomicLong(-1);
+    private final AtomicLong claimed = new AtomicLong(-1);
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param bufferSize Number of slots, rounded up to a power of two
+     */
+    public EventBus(int bufferSize) {
+        int size = Integer.highestOneBit(Math.max(2, bufferSize) - 1) << 1;
+        slots = new Event[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Event();
+        }
+        mask = size - 1;
+    }
+
+    /**
+     * @return The event bus of the application
+     */
+    public static EventBus getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Starts a subscription which receives the events published from now on.
+     *
+     * @param name Name of the subscription, used for its thread
+     * @param handler Handler of the events
+     * @param gating true if the publishers must wait for the subscription when the buffer is
+     *               full, false if it may skip events when it falls behind
+     * @return The subscription, which must be closed when the events are no longer needed
+     */
+    public Subscription subscribe(String name, EventHandler handler, boolean gating) {
+        Subscription subscription;
+        synchronized (this) {
+            subscription = new Subscription(name, handler, gating);
+            subscriptions.add(subscription);
+        }
+        subscription.thread.start();
+        return subscription;
+    }
+
+    public void publishOrderPlaced(int orderId, int clientId, int productId, int quantity) {
+        publish(Event.Type.ORDER_PLACED, orderId, clientId, productId, quantity);
+    }
+
+    public void publishOrderRefused(int clientId, int productId, int quantity) {
+        publish(Event.Type.ORDER_REFUSED, -1, clientId, productId, quantity);
+    }
+
+    public void publishStockChanged(int productId, int quantity) {
+        publish(Event.Type.STOCK_CHANGED, -1, -1, productId, quantity);
+    }
+
+    public void publishClientChanged(int clientId) {
+        publish(Event.Type.CLIENT_CHANGED, -1, clientId, -1, -1);
+    }
+
+    public void publishClientDeleted(int clientId) {
+        publish(Event.Type.CLIENT_DELETED, -1, clientId, -1, -1);
+    }
+
+    public void publishProductChanged(int productId) {
+        publish(Event.Type.PRODUCT_CHANGED, -1, -1, productId, -1);
+    }
+
+    public void publishProductDeleted(int productId) {
+        publish(Event.Type.PRODUCT_DELETED, -1, -1, productId, -1);
+    }
+
+    /**
+     * Writes an event in the next slot, after waiting for the gating subscriptions if the
+     * buffer is full, and wakes up the subscriptions.
+     */
+    private synchronized void publish(Event.Type type, int orderId, int clientId, int productId, int quantity) {
+        long next = cursor.get() + 1;
+        while (next - slots.length > minimumGatingSequence()) {
+            LockSupport.parkNanos(this, FULL_PARK_NANOS);
+        }
+        claimed.set(next);
+        // The plain writes of the slot must not become visible before the claim, or a lossy
+        // reader could copy a half-written slot and still pass its check of the claim
+        VarHandle.storeStoreFence();
+        slots[(int) (next & mask)].set(type, orderId, clientId, productId, quantity);
+        cursor.set(next);
+        for (Subscription subscription : subscriptions) {
+            LockSupport.unpark(subscription.thread);
+        }
+    }
+
+    private long minimumGatingSequence() {
+        long minimum = Long.MAX_VALUE;
+        for (Subscription subscription : subscriptions) {
+            if (subscription.gating && subscription.running) {
+                minimum = Math.min(minimum, subscription.sequence.get());
+            }
+        }
+        return minimum;
+    }
+
+    /**
+     * @return The sequence of the last event published
+     */
+    public long getCursor() {
+        return cursor.get();
+    }
+
+    /**
+     * Closes all the subscriptions.
+     */
+    public void shutdown() {
+        for (Subscription subscription : subscriptions) {
+            subscription.close();
+        }
+    }
+}
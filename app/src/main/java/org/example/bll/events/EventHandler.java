@@ -0,0 +1,19 @@
+package org.example.bll.events;
+
+/**
+ * Receives the events of an {@link EventBus} subscription, on the thread of the subscription.
+ *
+ * @author Stoica Irina
+ * @since Oct 18, 2026
+ */
+@FunctionalInterface
+public interface EventHandler {
+
+    /**
+     * @param event The event, whose slot is reused after the method returns
+     * @param sequence The sequence number of the event
+     * @param endOfBatch true if no other event is available right now, which is a good moment
+     *                   for work done once for several events, like refreshing a view
+     */
+    void onEvent(Event event, long sequence, boolean endOfBatch);
+}
@@ -0,0 +1,418 @@
+package org.example.bll.sales;
+
+import org.example.dao.OrderDAO;
+import org.example.dao.ProductDAO;
+import org.example.model.Orders;
+import org.example.model.Product;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Sales totals per product, per client and per day, updated as every order is saved instead of
+ * being computed from the orders table. Every lookup is a single hash map access. The totals are
+ * kept in memory and written to a file periodically and when the application stops, together
+ * with the watermark and the ids of the orders counted above it. Every order with an id at or
+ * below the watermark was counted; the orders are saved by several threads and counted out of
+ * id order, so the orders counted above it are kept apart until the ids below them were counted.
+ * An id which is still missing after ordermanagement.sales.gapGraceSeconds, by default 300, is
+ * taken as an insert which was rolled back, and the watermark moves past it.
+ * <p>
+ * When the aggregates are loaded, the orders with an id above the watermark which were not
+ * counted yet, saved while the aggregates were not running, are read from the database and
+ * counted. The orders table keeps neither the price nor the date of an order, so these orders are
+ * counted at the current price of their product and are left out of the totals per day.
+ * <p>
+ * The aggregates are enabled with the ordermanagement.sales.enabled system property.
+ *
+ * @author Stoica Irina
+ * @since Oct 18, 2026
+ */
+public final class SalesAggregates {
+
+    private static final Logger LOGGER = Logger.getLogger(SalesAggregates.class.getName());
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("ordermanagement.sales.enabled", "false"));
+    private static final Path FILE = Paths.get(System.getProperty("ordermanagement.sales.file", "sales.aggregates"));
+    private static final long PERSIST_INTERVAL_SECONDS = Long.getLong("ordermanagement.sales.persistIntervalSeconds", 30);
+    private static final long GAP_GRACE_NANOS = TimeUnit.SECONDS.toNanos(Long.getLong("ordermanagement.sales.gapGraceSeconds", 300));
+    private static final int MAGIC_WITHOUT_COUNTED = 0x53414c31;
+    private static final int MAGIC = 0x53414c32;
+    private static final int PAGE_SIZE = 1000;
+
+    private static volatile SalesAggregates instance;
+
+    private final Path file;
+    private final Map<Integer, SalesTotals> byProduct = new ConcurrentHashMap<>();
+    private final Map<Integer, SalesTotals> byClient = new ConcurrentHashMap<>();
+    private final Map<LocalDate, SalesTotals> byDay = new ConcurrentHashMap<>();
+    private final SalesTotals total = new SalesTotals();
+    private final AtomicInteger watermark = new AtomicInteger();
+    private final NavigableSet<Integer> countedAbove = new ConcurrentSkipListSet<>();
+    private int gapWatermark = -1;
+    private long gapSince;
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ScheduledExecutorService scheduler;
+
+    private SalesAggregates(Path file) {
+        this.file = file;
+        load();
+        catchUp();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sales-aggregates");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::persist, PERSIST_INTERVAL_SECONDS, PERSIST_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Returns the aggregates, loading them the first time they are used.
+     *
+     * @return The sales aggregates, or null if they are disabled
+     */
+    public static SalesAggregates getInstance() {
+        if (!ENABLED) {
+            return null;
+        }
+        SalesAggregates aggregates = instance;
+        if (aggregates == null) {
+            synchronized (SalesAggregates.class) {
+                aggregates = instance;
+                if (aggregates == null) {
+                    aggregates = new SalesAggregates(FILE);
+                    instance = aggregates;
+                }
+            }
+        }
+        return aggregates;
+    }
+
+    /**
+     * Stops the periodic writes and writes the totals a last time. Does nothing if the aggregates
+     * were never loaded.
+     */
+    public static void shutdown() {
+        SalesAggregates aggregates = instance;
+        if (aggregates != null) {
+            aggregates.scheduler.shutdownNow();
+            try {
+                aggregates.scheduler.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            aggregates.persist();
+        }
+    }
+
+    /**
+     * Counts a saved order.
+     *
+     * @param orderId Id of the order
+     * @param clientId Client of the order
+     * @param productId Product of the order
+     * @param quantity Quantity ordered
+     * @param price Price of the product when the order was placed
+     * @param day Day the order was placed, or null if it is not known
+     */
+    public void record(int orderId, int clientId, int productId, int quantity, int price, LocalDate day) {
+        long revenue = (long) quantity * price;
+        lock.readLock().lock();
+        try {
+            byProduct.computeIfAbsent(productId, id -> new SalesTotals()).add(1, quantity, revenue);
+            byClient.computeIfAbsent(clientId, id -> new SalesTotals()).add(1, quantity, revenue);
+            if (day != null) {
+                byDay.computeIfAbsent(day, d -> new SalesTotals()).add(1, quantity, revenue);
+            }
+            total.add(1, quantity, revenue);
+            if (orderId > watermark.get()) {
+                countedAbove.add(orderId);
+            }
+            dirty.set(true);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param productId Id of a product
+     * @return The totals of the orders of the product
+     */
+    public SalesTotals getProductTotals(int productId) {
+        return byProduct.getOrDefault(productId, SalesTotals.EMPTY);
+    }
+
+    /**
+     * @param clientId Id of a client
+     * @return The totals of the orders of the client; the revenue is what the client spent
+     */
+    public SalesTotals getClientTotals(int clientId) {
+        return byClient.getOrDefault(clientId, SalesTotals.EMPTY);
+    }
+
+    /**
+     * @param day A day
+     * @return The totals of the orders placed on that day
+     */
+    public SalesTotals getDayTotals(LocalDate day) {
+        return byDay.getOrDefault(day, SalesTotals.EMPTY);
+    }
+
+    /**
+     * @return The totals of all the orders
+     */
+    public SalesTotals getTotals() {
+        return total;
+    }
+
+    /**
+     * @return The totals of every product which was ordered, keyed by product id
+     */
+    public Map<Integer, SalesTotals> getAllProductTotals() {
+        return Collections.unmodifiableMap(byProduct);
+    }
+
+    /**
+     * @return The totals of every client who ordered, keyed by client id
+     */
+    public Map<Integer, SalesTotals> getAllClientTotals() {
+        return Collections.unmodifiableMap(byClient);
+    }
+
+    /**
+     * @return The totals of every day with orders
+     */
+    public Map<LocalDate, SalesTotals> getAllDayTotals() {
+        return Collections.unmodifiableMap(byDay);
+    }
+
+    /**
+     * Counts the orders saved after the watermark which were not counted yet, one page at a time.
+     * Once all of them were read, every order up to the last one is counted, so the watermark
+     * moves to it.
+     */
+    private void catchUp() {
+        OrderDAO orderDAO = new OrderDAO();
+        ProductDAO productDAO = new ProductDAO();
+        int afterId = watermark.get();
+        int counted = 0;
+        List<Orders> page;
+        do {
+            page = orderDAO.findPage(afterId, PAGE_SIZE);
+            if (page == null) {
+                LOGGER.log(Level.WARNING, "The sales aggregates could not read the orders after " + afterId);
+                return;
+            }
+            List<Integer> productIds = new ArrayList<>(page.size());
+            for (Orders order : page) {
+                productIds.add(order.getProductId());
+            }
+            Map<Integer, Product> products = productDAO.findByIds(productIds);
+            if (products == null) {
+                return;
+            }
+            for (Orders order : page) {
+                afterId = order.getId();
+                if (countedAbove.contains(order.getId())) {
+                    continue;
+                }
+                Product product = products.get(order.getProductId());
+                record(order.getId(), order.getClientId(), order.getProductId(), order.getQuantity(),
+                        product != null ? product.getPrice() : 0, null);
+                counted++;
+            }
+        } while (page.size() == PAGE_SIZE);
+        if (!countedAbove.isEmpty()) {
+            afterId = Math.max(afterId, countedAbove.last());
+        }
+        watermark.set(afterId);
+        countedAbove.clear();
+        if (counted > 0) {
+            LOGGER.log(Level.INFO, "The sales aggregates counted " + counted + " orders from the database");
+        }
+    }
+
+    /**
+     * Reads the totals written by {@link #persist()}. A file which cannot be read is ignored and
+     * the totals are rebuilt from the database by {@link #catchUp()}.
+     */
+    private void load() {
+        Map<Integer, SalesTotals> products = new HashMap<>();
+        Map<Integer, SalesTotals> clients = new HashMap<>();
+        Map<LocalDate, SalesTotals> days = new HashMap<>();
+        SalesTotals all = new SalesTotals();
+        List<Integer> counted = new ArrayList<>();
+        int loadedWatermark;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            int magic = in.readInt();
+            if (magic != MAGIC && magic != MAGIC_WITHOUT_COUNTED) {
+                throw new IOException("Not a sales aggregates file");
+            }
+            loadedWatermark = in.readInt();
+            if (magic == MAGIC) {
+                for (int i = in.readInt(); i > 0; i--) {
+                    counted.add(in.readInt());
+                }
+            }
+            readTotals(in, all);
+            for (int i = in.readInt(); i > 0; i--) {
+                readTotals(in, products.computeIfAbsent(in.readInt(), id -> new SalesTotals()));
+            }
+            for (int i = in.readInt(); i > 0; i--) {
+                readTotals(in, clients.computeIfAbsent(in.readInt(), id -> new SalesTotals()));
+            }
+            for (int i = in.readInt(); i > 0; i--) {
+                readTotals(in, days.computeIfAbsent(LocalDate.ofEpochDay(in.readLong()), d -> new SalesTotals()));
+            }
+        } catch (NoSuchFileException e) {
+            return;
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "The sales aggregates file cannot be read, the totals are rebuilt " + e.getMessage());
+            return;
+        }
+        byProduct.putAll(products);
+        byClient.putAll(clients);
+        byDay.putAll(days);
+        total.add(all.getOrderCount(), all.getUnits(), all.getRevenue());
+        watermark.set(loadedWatermark);
+        countedAbove.addAll(counted);
+    }
+
+    private static void readTotals(DataInputStream in, SalesTotals totals) throws IOException {
+        totals.add(in.readLong(), in.readLong(), in.readLong());
+    }
+
+    /**
+     * Writes the totals if they changed since they were last written. The totals, the watermark
+     * and the orders counted above it are copied while no order is being counted, so they always
+     * match, and the file is written under a temporary name and renamed, so it is never left half
+     * written.
+     */
+    private synchronized void persist() {
+        if (!dirty.getAndSet(false)) {
+            return;
+        }
+        Map<Integer, long[]> products;
+        Map<Integer, long[]> clients;
+        Map<LocalDate, long[]> days;
+        long[] all;
+        int savedWatermark;
+        List<Integer> savedCounted;
+        lock.writeLock().lock();
+        try {
+            products = copy(byProduct);
+            clients = copy(byClient);
+            days = copy(byDay);
+            all = values(total);
+            savedWatermark = advanceWatermark();
+            savedCounted = new ArrayList<>(countedAbove);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(savedWatermark);
+                out.writeInt(savedCounted.size());
+                for (int id : savedCounted) {
+                    out.writeInt(id);
+                }
+                writeTotals(out, all);
+                out.writeInt(products.size());
+                for (Map.Entry<Integer, long[]> entry : products.entrySet()) {
+                    out.writeInt(entry.getKey());
+                    writeTotals(out, entry.getValue());
+                }
+                out.writeInt(clients.size());
+                for (Map.Entry<Integer, long[]> entry : clients.entrySet()) {
+                    out.writeInt(entry.getKey());
+                    writeTotals(out, entry.getValue());
+                }
+                out.writeInt(days.size());
+                for (Map.Entry<LocalDate, long[]> entry : days.entrySet()) {
+                    out.writeLong(entry.getKey().toEpochDay());
+                    writeTotals(out, entry.getValue());
+                }
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            dirty.set(true);
+            LOGGER.log(Level.WARNING, "The sales aggregates could not be written " + e.getMessage());
+        }
+    }
+
+    /**
+     * Moves the watermark over the orders counted right above it. If the id after the watermark
+     * is still missing after the grace period, its insert is taken as rolled back and the
+     * watermark moves past the gap. Called while no order is being counted.
+     *
+     * @return The new watermark
+     */
+    private int advanceWatermark() {
+        int mark = watermark.get();
+        while (countedAbove.remove(mark + 1)) {
+            mark++;
+        }
+        if (countedAbove.isEmpty()) {
+            gapWatermark = -1;
+        } else if (gapWatermark != mark) {
+            gapWatermark = mark;
+            gapSince = System.nanoTime();
+        } else if (System.nanoTime() - gapSince >= GAP_GRACE_NANOS) {
+            LOGGER.log(Level.INFO, "The sales aggregates skip the order ids " + (mark + 1) + " to "
+                    + (countedAbove.first() - 1) + ", which were never counted");
+            mark = countedAbove.first() - 1;
+            while (countedAbove.remove(mark + 1)) {
+                mark++;
+            }
+            gapWatermark = -1;
+        }
+        watermark.set(mark);
+        return mark;
+    }
+
+    private static <K> Map<K, long[]> copy(Map<K, SalesTotals> totals) {
+        Map<K, long[]> copy = new HashMap<>(totals.size() * 2);
+        for (Map.Entry<K, SalesTotals> entry : totals.entrySet()) {
+            copy.put(entry.getKey(), values(entry.getValue()));
+        }
+        return copy;
+    }
+
+    private static long[] values(SalesTotals totals) {
+        return new long[]{totals.getOrderCount(), totals.getUnits(), totals.getRevenue()};
+    }
+
+    private static void writeTotals(DataOutputStream out, long[] values) throws IOException {
+        for (long value : values) {
+            out.writeLong(value);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.bll.sales;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The running totals of the orders of one product, one client or one day: the number of
+ * orders, the units sold and the revenue. The totals are updated without locks, so the three
+ * values read one after the other may belong to slightly different moments.
+ *
+ * @author Stoica Irina
+ * @since Oct 18, 2026
+ */
+public final class SalesTotals {
+
+    /** Totals with no orders, returned for the keys which have none. */
+    public static final SalesTotals EMPTY = new SalesTotals();
+
+    private final LongAdder orders = new LongAdder();
+    private final LongAdder units = new LongAdder();
+    private final LongAdder revenue = new LongAdder();
+
+    void add(long orderCount, long unitCount, long amount) {
+        orders.add(orderCount);
+        units.add(unitCount);
+        revenue.add(amount);
+    }
+
+    /**
+     * @return Number of orders
+     */
+    public long getOrderCount() {
+        return orders.sum();
+    }
+
+    /**
+     * @return Number of units ordered
+     */
+    public long getUnits() {
+        return units.sum();
+    }
+
+    /**
+     * @return Sum of the quantity times the price of every order
+     */
+    public long getRevenue() {
+        return revenue.sum();
+    }
+
+    @Override
+    public String toString() {
+        return getOrderCount() + " orders, " + getUnits() + " units, revenue " + getRevenue();
+    }
+}
@@ -0,0 +1,343 @@
+package org.example.bll.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * An in-memory text index of rows identified by id, for type-ahead search. Every row has one or
+ * more text fields, which are normalized to lower case without accents. Two structures answer
+ * the queries:
+ * <ul>
+ *     <li>a trie of the words of the fields, which finds the rows with a word starting with the
+ *     query;</li>
+ *     <li>an index of the trigrams, the sequences of three characters, of the fields, which finds
+ *     the rows containing the query anywhere: the rows having all the trigrams of the query are
+ *     the candidates, and the candidates actually containing it are kept.</li>
+ * </ul>
+ * The prefix matches are returned first, in alphabetical order of the matching word, then the
+ * other rows containing the query, in the order of the ids. Both stop as soon as there are
+ * enough results, so a query does not depend on the number of rows. Rows are added, replaced and
+ * removed one at a time. Queries run in parallel and wait only for the changes.
+ *
+ * @author Stoica Irina
+ * @since Oct 18, 2026
+ */
+public final class SearchIndex {
+
+    private static final int GRAM = 3;
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern ACCENTS = Pattern.compile("\\p{M}+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    /**
+     * A node of the trie, with the rows which have the word ending at the node.
+     */
+    private static final class Node {
+        Map<Character, Node> children;
+        Ids ids;
+
+        Node child(char c) {
+            return children == null ? null : children.get(c);
+        }
+
+        boolean isEmpty() {
+            return (ids == null || ids.size == 0) && (children == null || children.isEmpty());
+        }
+    }
+
+    /**
+     * A sorted set of ids in an int array, much smaller than a set of boxed integers. The ids
+     * are mostly added in increasing order, at the end of the array.
+     */
+    private static final class Ids {
+        int[] values = new int[2];
+        int size;
+
+        void add(int id) {
+            int at = size == 0 || values[size - 1] < id ? -size - 1 : Arrays.binarySearch(values, 0, size, id);
+            if (at >= 0) {
+                return;
+            }
+            at = -at - 1;
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            System.arraycopy(values, at, values, at + 1, size - at);
+            values[at] = id;
+            size++;
+        }
+
+        boolean remove(int id) {
+            int at = Arrays.binarySearch(values, 0, size, id);
+            if (at < 0) {
+                return false;
+            }
+            System.arraycopy(values, at + 1, values, at, size - at - 1);
+            size--;
+            return true;
+        }
+
+        boolean contains(int id) {
+            return Arrays.binarySearch(values, 0, size, id) >= 0;
+        }
+    }
+
+    private final Node root = new Node();
+    private final Map<String, Ids> trigrams = new HashMap<>();
+    private final Map<Integer, String[]> fields = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Adds a row, or replaces the fields of a row already in the index.
+     *
+     * @param id Id of the row
+     * @param values The text fields of the row; null fields are skipped
+     */
+    public void put(int id, String... values) {
+        String[] normalized = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            normalized[i] = values[i] == null ? "" : normalize(values[i]);
+        }
+        lock.writeLock().lock();
+        try {
+            String[] previous = fields.put(id, normalized);
+            if (previous != null) {
+                unindex(id, previous);
+            }
+            for (String field : normalized) {
+                for (String token : tokens(field)) {
+                    Node node = root;
+                    for (int i = 0; i < token.length(); i++) {
+                        if (node.children == null) {
+                            node.children = new TreeMap<>();
+                        }
+                        node = node.children.computeIfAbsent(token.charAt(i), c -> new Node());
+                    }
+                    if (node.ids == null) {
+                        node.ids = new Ids();
+                    }
+                    node.ids.add(id);
+                }
+                for (String gram : grams(field)) {
+                    trigrams.computeIfAbsent(gram, g -> new Ids()).add(id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param id Id of the row to remove; nothing happens if it is not in the index
+     */
+    public void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            String[] previous = fields.remove(id);
+            if (previous != null) {
+                unindex(id, previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void unindex(int id, String[] previous) {
+        for (String field : previous) {
+            for (String token : tokens(field)) {
+                removeToken(id, token);
+            }
+            for (String gram : grams(field)) {
+                Ids ids = trigrams.get(gram);
+                if (ids != null && ids.remove(id) && ids.size == 0) {
+                    trigrams.remove(gram);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes the id from the node of the token and the nodes which are left empty.
+     */
+    private void removeToken(int id, String token) {
+        Node[] path = new Node[token.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < token.length(); i++) {
+            path[i + 1] = path[i].child(token.charAt(i));
+            if (path[i + 1] == null) {
+                return;
+            }
+        }
+        if (path[token.length()].ids != null) {
+            path[token.length()].ids.remove(id);
+        }
+        for (int i = token.length(); i > 0 && path[i].isEmpty(); i--) {
+            path[i - 1].children.remove(token.charAt(i - 1));
+        }
+    }
+
+    /**
+     * Finds the rows matching a query, the prefix matches first.
+     *
+     * @param query The text typed by the user
+     * @param limit Maximum number of ids returned
+     * @return The ids of the matching rows
+     */
+    public List<Integer> search(String query, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+        lock.readLock().lock();
+        try {
+            Set<Integer> result = new LinkedHashSet<>();
+            Node node = root;
+            for (int i = 0; i < normalized.length() && node != null; i++) {
+                node = node.child(normalized.charAt(i));
+            }
+            if (node != null) {
+                collect(node, result, limit);
+            }
+            if (result.size() < limit && normalized.length() >= GRAM) {
+                addContaining(normalized, result, limit);
+            }
+            return new ArrayList<>(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds the ids of the node and of its children, in alphabetical order of the words, until
+     * there are enough.
+     *
+     * @return false if the limit was reached
+     */
+    private static boolean collect(Node node, Set<Integer> result, int limit) {
+        if (node.ids != null) {
+            for (int i = 0; i < node.ids.size; i++) {
+                if (result.size() == limit) {
+                    return false;
+                }
+                result.add(node.ids.values[i]);
+            }
+        }
+        if (node.children != null) {
+            for (Node child : node.children.values()) {
+                if (!collect(child, result, limit)) {
+                    return false;
+                }
+            }
+        }
+        return result.size() < limit;
+    }
+
+    /**
+     * Adds the ids of the rows with a field containing the query, in the order of the ids,
+     * until there are enough.
+     */
+    private void addContaining(String query, Set<Integer> result, int limit) {
+        Ids smallest = null;
+        List<Ids> postings = new ArrayList<>();
+        for (String gram : grams(query)) {
+            Ids ids = trigrams.get(gram);
+            if (ids == null) {
+                return;
+            }
+            postings.add(ids);
+            if (smallest == null || ids.size < smallest.size) {
+                smallest = ids;
+            }
+        }
+        candidates:
+        for (int i = 0; i < smallest.size; i++) {
+            int id = smallest.values[i];
+            if (result.size() == limit) {
+                return;
+            }
+            if (result.contains(id)) {
+                continue;
+            }
+            for (Ids ids : postings) {
+                if (!ids.contains(id)) {
+                    continue candidates;
+                }
+            }
+            for (String field : fields.get(id)) {
+                if (field.contains(query)) {
+                    result.add(id);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return Number of rows in the index
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return fields.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Tells whether a field would be a prefix match of a query, without an index.
+     *
+     * @param field A normalized field
+     * @param query A normalized query
+     * @return true if one of the words of the field starts with the query
+     */
+    public static boolean startsWith(String field, String query) {
+        for (String token : tokens(field)) {
+            if (token.startsWith(query)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return The words of the field
+     */
+    private static Set<String> tokens(String field) {
+        Set<String> tokens = new HashSet<>();
+        for (String word : WORD_SEPARATOR.split(field)) {
+            if (!word.isEmpty()) {
+                tokens.add(word);
+            }
+        }
+        return tokens;
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    /**
+     * @return The text in lower case, without accents and with single spaces
+     */
+    public static String normalize(String text) {
+        String decomposed = Normalizer.normalize(text.trim(), Normalizer.Form.NFD);
+        return SPACES.matcher(ACCENTS.matcher(decomposed).replaceAll("")).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+}
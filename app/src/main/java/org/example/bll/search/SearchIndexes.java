@@ -0,0 +1,279 @@
+package org.example.bll.search;
+
+import org.example.bll.events.Event;
+import org.example.bll.events.EventBus;
+import org.example.dao.AbstractDAO;
+import org.example.dao.ClientDAO;
+import org.example.dao.ProductDAO;
+import org.example.model.Client;
+import org.example.model.Product;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Holds the {@link SearchIndex} of the product names and the one of the client names and
+ * emails, and keeps them up to date. An index subscribes to the {@link EventBus} before it reads
+ * the table, so a row changed during the load is not missed. The subscription only collects the
+ * ids named by the events: a background thread then reloads these rows, indexing a row again if
+ * it still exists and removing it otherwise, so a delete which failed in the database leaves the
+ * row searchable. The business layer also writes its own changes through, so they can be found
+ * right away.
+ * <p>
+ * The subscriptions are lossy, so a slow database never holds up the publishers. If a
+ * subscription skipped events, the index is built again from the whole table. If the table cannot
+ * be read, the index is not built and the next request for it tries again, at most once every
+ * few seconds; the rows which could not be reloaded are retried after the same delay. The
+ * indexes are enabled with the ordermanagement.search.enabled system property.
+ *
+ * @author Stoica Irina
+ * @since Oct 18, 2026
+ */
+public final class SearchIndexes {
+
+    private static final Logger LOGGER = Logger.getLogger(SearchIndexes.class.getName());
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("ordermanagement.search.enabled", "false"));
+    private static final long RETRY_DELAY_SECONDS = Long.getLong("ordermanagement.search.retryDelaySeconds", 10);
+    private static final long RETRY_DELAY_NANOS = TimeUnit.SECONDS.toNanos(RETRY_DELAY_SECONDS);
+
+    private static final ScheduledExecutorService background = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "search-indexes");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The index of one table, built the first time it is requested and then kept up to date by
+     * the background thread.
+     */
+    private static final class Table<T> {
+        private final String name;
+        private final Supplier<AbstractDAO<T>> daoFactory;
+        private final Function<T, String[]> fields;
+        private final Function<Event, Integer> eventId;
+        private final Set<Integer> changedIds = ConcurrentHashMap.newKeySet();
+        private final AtomicBoolean refreshQueued = new AtomicBoolean();
+        private volatile SearchIndex index;
+        private AbstractDAO<T> dao;
+        private EventBus.Subscription subscription;
+        private long droppedEvents;
+        private boolean rebuild;
+        private long retryAt;
+
+        /**
+         * @param name Name of the table, used in the name of the subscription
+         * @param daoFactory Creates the DAO of the table
+         * @param fields Gives the searchable fields of a row
+         * @param eventId Gives the id of the row an event is about, or -1 if it is not about
+         *                this table
+         */
+        Table(String name, Supplier<AbstractDAO<T>> daoFactory, Function<T, String[]> fields, Function<Event, Integer> eventId) {
+            this.name = name;
+            this.daoFactory = daoFactory;
+            this.fields = fields;
+            this.eventId = eventId;
+        }
+
+        SearchIndex get() {
+            SearchIndex built = index;
+            if (built == null) {
+                synchronized (this) {
+                    built = index;
+                    if (built == null && System.nanoTime() - retryAt >= 0) {
+                        built = build();
+                        if (built == null) {
+                            retryAt = System.nanoTime() + RETRY_DELAY_NANOS;
+                        }
+                    }
+                }
+            }
+            return built;
+        }
+
+        /**
+         * Subscribes to the changes of the table and then indexes all its rows. The rows named
+         * by an event while the table is read are reloaded afterwards, since the cursor may have
+         * read them before they changed.
+         *
+         * @return The index of the table, or null if the table could not be read
+         */
+        private SearchIndex build() {
+            long start = System.nanoTime();
+            dao = daoFactory.get();
+            subscription = EventBus.getInstance().subscribe("search-" + name, (event, sequence, endOfBatch) -> {
+                int id = eventId.apply(event);
+                if (id > 0) {
+                    changedIds.add(id);
+                }
+                if (endOfBatch) {
+                    requestRefresh();
+                }
+            }, false);
+            droppedEvents = 0;
+            SearchIndex built = load();
+            if (built == null) {
+                subscription.close();
+                subscription = null;
+                changedIds.clear();
+                LOGGER.log(Level.WARNING, "The " + name + " search index could not read the table, it will be built later");
+                return null;
+            }
+            index = built;
+            LOGGER.log(Level.INFO, "Search index " + name + " built with " + built.size() + " rows in "
+                    + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+            requestRefresh();
+            return built;
+        }
+
+        /**
+         * @return A new index of all the rows of the table, or null if it could not be read
+         */
+        private SearchIndex load() {
+            SearchIndex loaded = new SearchIndex();
+            try {
+                dao.forEach(t -> loaded.put((Integer) dao.getMapper().getId(t), fields.apply(t)));
+            } catch (IllegalStateException e) {
+                LOGGER.log(Level.WARNING, "The " + name + " search index could not read the table " + e.getMessage());
+                return null;
+            }
+            return loaded;
+        }
+
+        private void requestRefresh() {
+            if (refreshQueued.compareAndSet(false, true)) {
+                try {
+                    background.execute(() -> {
+                        refreshQueued.set(false);
+                        refresh();
+                    });
+                } catch (RejectedExecutionException stopped) {
+                    refreshQueued.set(false);
+                }
+            }
+        }
+
+        private void retryLater() {
+            try {
+                background.schedule(this::refresh, RETRY_DELAY_SECONDS, TimeUnit.SECONDS);
+            } catch (RejectedExecutionException stopped) {
+                // The indexes were shut down
+            }
+        }
+
+        /**
+         * Reloads the rows named by the events. If the subscription skipped events, the index is
+         * built again from the whole table first. Runs on the background thread.
+         */
+        private synchronized void refresh() {
+            SearchIndex current = index;
+            if (current == null || subscription == null) {
+                return;
+            }
+            long dropped = subscription.getDroppedCount();
+            if (dropped != droppedEvents) {
+                droppedEvents = dropped;
+                changedIds.clear();
+                rebuild = true;
+            }
+            if (rebuild) {
+                SearchIndex rebuilt = load();
+                if (rebuilt == null) {
+                    retryLater();
+                    return;
+                }
+                rebuild = false;
+                index = rebuilt;
+                current = rebuilt;
+            }
+            List<Integer> ids = new ArrayList<>(changedIds);
+            if (ids.isEmpty()) {
+                return;
+            }
+            changedIds.removeAll(ids);
+            Map<Integer, T> found = dao.findByIds(ids);
+            if (found == null) {
+                changedIds.addAll(ids);
+                retryLater();
+                return;
+            }
+            for (Integer changed : ids) {
+                T t = found.get(changed);
+                if (t == null) {
+                    current.remove(changed);
+                } else {
+                    current.put(changed, fields.apply(t));
+                }
+            }
+        }
+
+        private synchronized void close() {
+            if (subscription != null) {
+                subscription.close();
+                subscription = null;
+            }
+        }
+    }
+
+    private static final Table<Client> CLIENTS = new Table<>("clients", ClientDAO::new, SearchIndexes::fieldsOf,
+            event -> event.getType() == Event.Type.CLIENT_CHANGED || event.getType() == Event.Type.CLIENT_DELETED
+                    ? event.getClientId() : -1);
+    private static final Table<Product> PRODUCTS = new Table<>("products", ProductDAO::new, SearchIndexes::fieldsOf,
+            event -> event.getType() == Event.Type.PRODUCT_CHANGED || event.getType() == Event.Type.PRODUCT_DELETED
+                    ? event.getProductId() : -1);
+
+    private SearchIndexes() {
+    }
+
+    /**
+     * @param client A client
+     * @return The searchable fields of the client
+     */
+    public static String[] fieldsOf(Client client) {
+        return new String[]{client.getName(), client.getEmail()};
+    }
+
+    /**
+     * @param product A product
+     * @return The searchable fields of the product
+     */
+    public static String[] fieldsOf(Product product) {
+        return new String[]{product.getName()};
+    }
+
+    /**
+     * @return The index of the client names and emails, built the first time it is used, or
+     * null if the search indexes are disabled or the index could not be built yet
+     */
+    public static SearchIndex getClients() {
+        return ENABLED ? CLIENTS.get() : null;
+    }
+
+    /**
+     * @return The index of the product names, built the first time it is used, or null if the
+     * search indexes are disabled or the index could not be built yet
+     */
+    public static SearchIndex getProducts() {
+        return ENABLED ? PRODUCTS.get() : null;
+    }
+
+    /**
+     * Stops following the changes of the tables and stops the background thread.
+     */
+    public static void shutdown() {
+        CLIENTS.close();
+        PRODUCTS.close();
+        background.shutdownNow();
+    }
+}
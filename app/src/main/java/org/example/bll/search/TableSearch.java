@@ -0,0 +1,137 @@
+package org.example.bll.search;
+
+import org.example.bll.catalog.Catalog;
+import org.example.dao.AbstractDAO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * The type-ahead search of one table for the business layer. It finds the ids of the matches in
+ * the {@link SearchIndex} of the table and reads the rows from the {@link Catalog} when it is
+ * enabled, or with one query otherwise, keeping the order of the matches. Without an index, all
+ * the rows are scanned and ranked the same way. The business layer also writes its changes
+ * through it, so they can be found right away.
+ *
+ * @author Stoica Irina
+ * @since Oct 18, 2026
+ * @param <T> The model class of the table
+ */
+public final class TableSearch<T> {
+
+    private final Supplier<SearchIndex> index;
+    private final AbstractDAO<T> dao;
+    private final Catalog<T> catalog;
+    private final Function<T, String[]> fields;
+    private final Supplier<List<T>> rows;
+
+    /**
+     * @param index Gives the index of the table, or null if there is none
+     * @param dao DAO of the table
+     * @param catalog Catalog of the table, or null if the catalogs are disabled
+     * @param fields Gives the searchable fields of a row
+     * @param rows Gives all the rows of the table, scanned when there is no index
+     */
+    public TableSearch(Supplier<SearchIndex> index, AbstractDAO<T> dao, Catalog<T> catalog, Function<T, String[]> fields,
+                       Supplier<List<T>> rows) {
+        this.index = index;
+        this.dao = dao;
+        this.catalog = catalog;
+        this.fields = fields;
+        this.rows = rows;
+    }
+
+    /**
+     * Indexes a row which was just added or changed in the database.
+     *
+     * @param t The row, with its id set
+     */
+    public void put(T t) {
+        SearchIndex searchIndex = index.get();
+        if (searchIndex != null) {
+            searchIndex.put((Integer) dao.getMapper().getId(t), fields.apply(t));
+        }
+    }
+
+    /**
+     * Removes a row which was just deleted from the database.
+     *
+     * @param id Id of the row
+     */
+    public void remove(int id) {
+        SearchIndex searchIndex = index.get();
+        if (searchIndex != null) {
+            searchIndex.remove(id);
+        }
+    }
+
+    /**
+     * Finds the rows matching the text typed by the user: first the rows with a word of a field
+     * starting with the text, then the other rows containing it, ignoring the case and the
+     * accents.
+     *
+     * @param query The text typed by the user
+     * @param limit Maximum number of rows returned
+     * @return The matching rows, empty if the text is blank
+     * @throws NullPointerException Thrown if the rows could not be read
+     */
+    public List<T> search(String query, int limit) {
+        if (query == null || limit <= 0) {
+            return new ArrayList<>();
+        }
+        SearchIndex searchIndex = index.get();
+        if (searchIndex == null) {
+            return scan(query, limit);
+        }
+        List<Integer> ids = searchIndex.search(query, limit);
+        List<T> result = new ArrayList<>(ids.size());
+        if (catalog != null) {
+            for (Integer id : ids) {
+                T t = catalog.find(id);
+                if (t != null) {
+                    result.add(t);
+                }
+            }
+            return result;
+        }
+        Map<Integer, T> found = dao.findByIds(ids);
+        if (found == null) {
+            throw new NullPointerException("The rows could not be read");
+        }
+        for (Integer id : ids) {
+            T t = found.get(id);
+            if (t != null) {
+                result.add(t);
+            }
+        }
+        return result;
+    }
+
+    private List<T> scan(String query, int limit) {
+        String normalized = SearchIndex.normalize(query);
+        List<T> prefixed = new ArrayList<>();
+        List<T> containing = new ArrayList<>();
+        if (normalized.isEmpty()) {
+            return prefixed;
+        }
+        for (T t : rows.get()) {
+            boolean starts = false;
+            boolean contains = false;
+            for (String field : fields.apply(t)) {
+                String value = field == null ? "" : SearchIndex.normalize(field);
+                starts |= SearchIndex.startsWith(value, normalized);
+                contains |= value.contains(normalized);
+            }
+            if (starts) {
+                prefixed.add(t);
+            } else if (contains) {
+                containing.add(t);
+            }
+        }
+        prefixed.addAll(containing);
+        return new ArrayList<>(prefixed.subList(0, Math.min(limit, prefixed.size())));
+    }
+}
@@ -0,0 +1,369 @@
+package org.example.bll.store;
+
+import org.example.bll.events.Event;
+import org.example.bll.events.EventBus;
+import org.example.dao.OrderDAO;
+import org.example.model.Orders;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps the orders outside the heap, in a memory-mapped file of fixed-width records: the id,
+ * client id, product id and quantity of an order take 16 bytes, instead of an
+ * {@link Orders} object with four boxed integers. A second mapped file is the index, with the
+ * position of the record of every order id, so an order is found with two reads whatever the
+ * number of orders. The files are mapped in regions of 64 MiB, so they can grow past the 2 GiB
+ * limit of a single mapping.
+ * <p>
+ * The first record of the data file is the header, with the number of records and the largest
+ * id. A record is written before the count is increased, so a reader never sees a partly written
+ * record, and an index entry pointing past the count or to a record of another id is ignored.
+ * Appends are serialized; lookups and scans need no lock.
+ * <p>
+ * The store is enabled with the ordermanagement.orderstore.enabled system property. It copies
+ * the orders added since it was last running from the database and then follows the orders
+ * placed through a gating subscription of the {@link EventBus}, so none is missed.
+ *
+ * @author Stoica Irina
+ * @since Oct 18, 2026
+ */
+public final class OrderStore implements AutoCloseable {
+
+    /**
+     * Receives the orders of a scan, without creating an object per order.
+     */
+    @FunctionalInterface
+    public interface RecordVisitor {
+        void visit(int id, int clientId, int productId, int quantity);
+    }
+
+    private static final Logger LOGGER = Logger.getLogger(OrderStore.class.getName());
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("ordermanagement.orderstore.enabled", "false"));
+    private static final Path DIRECTORY = Paths.get(System.getProperty("ordermanagement.orderstore.directory", "order-store"));
+    private static final int MAGIC = 0x4f524431;
+    private static final int RECORD_SIZE = 4 * Integer.BYTES;
+    private static final int REGION_SIZE = 1 << 26;
+    private static final int RECORDS_PER_REGION = REGION_SIZE / RECORD_SIZE;
+    private static final int IDS_PER_REGION = REGION_SIZE / Integer.BYTES;
+    private static final int PAGE_SIZE = 1000;
+
+    private static volatile OrderStore instance;
+
+    private final FileChannel data;
+    private final FileChannel index;
+    private volatile MappedByteBuffer[] dataRegions = new MappedByteBuffer[0];
+    private volatile MappedByteBuffer[] indexRegions = new MappedByteBuffer[0];
+    private volatile int count;
+    private int maxId;
+    private volatile EventBus.Subscription subscription;
+
+    /**
+     * Opens the store in the given directory, creating its files if needed.
+     *
+     * @param directory The directory of the data and index files
+     * @throws IOException Thrown if the files cannot be opened or are not an order store
+     */
+    public OrderStore(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        data = FileChannel.open(directory.resolve("orders.dat"), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        index = FileChannel.open(directory.resolve("orders.idx"), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        boolean created = data.size() == 0;
+        MappedByteBuffer header = dataRegion(0);
+        if (created) {
+            header.putInt(0, MAGIC);
+        } else if (header.getInt(0) != MAGIC) {
+            close();
+            throw new IOException("Not an order store");
+        }
+        count = header.getInt(Integer.BYTES);
+        maxId = header.getInt(2 * Integer.BYTES);
+        dataRegion(count);
+        if (maxId > 0) {
+            indexRegion(maxId);
+        }
+    }
+
+    /**
+     * Returns the store, opening it and catching up with the database the first time it is
+     * used.
+     *
+     * @return The order store, or null if it is disabled or cannot be opened
+     */
+    public static OrderStore getInstance() {
+        if (!ENABLED) {
+            return null;
+        }
+        OrderStore store = instance;
+        if (store == null) {
+            synchronized (OrderStore.class) {
+                store = instance;
+                if (store == null) {
+                    try {
+                        store = new OrderStore(DIRECTORY);
+                    } catch (IOException e) {
+                        LOGGER.log(Level.SEVERE, "The order store cannot be opened " + e.getMessage());
+                        return null;
+                    }
+                    store.follow(EventBus.getInstance());
+                    instance = store;
+                }
+            }
+        }
+        return store;
+    }
+
+    /**
+     * Stops following the orders and closes the store. Does nothing if it was never opened.
+     */
+    public static void shutdown() {
+        OrderStore store = instance;
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    /**
+     * Subscribes to the orders placed and copies the orders saved since the store was last
+     * updated. The subscription is started first, so an order saved during the copy is not
+     * missed; it is simply found twice and stored once.
+     */
+    private void follow(EventBus eventBus) {
+        subscription = eventBus.subscribe("order-store", (event, sequence, endOfBatch) -> {
+            if (event.getType() == Event.Type.ORDER_PLACED) {
+                append(event.getOrderId(), event.getClientId(), event.getProductId(), event.getQuantity());
+            }
+        }, true);
+        OrderDAO orderDAO = new OrderDAO();
+        int afterId = getMaxId();
+        List<Orders> page;
+        do {
+            page = orderDAO.findPage(afterId, PAGE_SIZE);
+            if (page == null) {
+                LOGGER.log(Level.WARNING, "The order store could not read the orders after " + afterId);
+                return;
+            }
+            for (Orders order : page) {
+                append(order);
+                afterId = order.getId();
+            }
+        } while (page.size() == PAGE_SIZE);
+    }
+
+    /**
+     * @param order The order to store, with its id set
+     * @return true if it was stored, false if an order with its id is already stored
+     */
+    public boolean append(Orders order) {
+        return append(order.getId(), order.getClientId(), order.getProductId(), order.getQuantity());
+    }
+
+    /**
+     * Stores an order at the end of the data file and records its position in the index.
+     *
+     * @param id Id of the order, which must be positive
+     * @param clientId Client of the order
+     * @param productId Product of the order
+     * @param quantity Quantity ordered
+     * @return true if it was stored, false if an order with the id is already stored
+     * @throws IllegalStateException Thrown if the files cannot be extended
+     */
+    public synchronized boolean append(int id, int clientId, int productId, int quantity) {
+        if (id <= 0) {
+            throw new IllegalArgumentException("The order id must be positive");
+        }
+        try {
+            if (position(id) != 0) {
+                return false;
+            }
+            int record = count + 1;
+            MappedByteBuffer region = dataRegion(record);
+            int at = offset(record);
+            region.putInt(at, id);
+            region.putInt(at + Integer.BYTES, clientId);
+            region.putInt(at + 2 * Integer.BYTES, productId);
+            region.putInt(at + 3 * Integer.BYTES, quantity);
+            indexRegion(id).putInt((id % IDS_PER_REGION) * Integer.BYTES, record);
+            maxId = Math.max(maxId, id);
+            dataRegions[0].putInt(2 * Integer.BYTES, maxId);
+            dataRegions[0].putInt(Integer.BYTES, record);
+            count = record;
+            return true;
+        } catch (IOException e) {
+            throw new IllegalStateException("The order store cannot grow: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Looks up the index and checks that the record it points to holds the order. After a crash
+     * the index may have been written to the disk without the records, and its entry may point
+     * to an empty record or to a record later reused by another order.
+     *
+     * @param id Id of an order
+     * @return The record number of the order, or 0 if it is not stored
+     */
+    private int position(int id) {
+        MappedByteBuffer[] regions = indexRegions;
+        int region = id / IDS_PER_REGION;
+        if (region >= regions.length) {
+            return 0;
+        }
+        int record = regions[region].getInt((id % IDS_PER_REGION) * Integer.BYTES);
+        if (record <= 0 || record > count) {
+            return 0;
+        }
+        return dataRegions[record / RECORDS_PER_REGION].getInt(offset(record)) == id ? record : 0;
+    }
+
+    /**
+     * @param id Id of an order
+     * @return A new object with the stored order, or null if it is not stored
+     */
+    public Orders find(int id) {
+        Orders[] found = new Orders[1];
+        if (!visit(id, (orderId, clientId, productId, quantity) -> found[0] = new Orders(orderId, clientId, productId, quantity))) {
+            return null;
+        }
+        return found[0];
+    }
+
+    /**
+     * Looks up an order without creating an object.
+     *
+     * @param id Id of an order
+     * @param visitor Receives the order if it is stored
+     * @return true if the order is stored
+     */
+    public boolean visit(int id, RecordVisitor visitor) {
+        if (id <= 0) {
+            return false;
+        }
+        int record = position(id);
+        if (record == 0) {
+            return false;
+        }
+        read(record, visitor);
+        return true;
+    }
+
+    /**
+     * Passes all the stored orders to the visitor, in the order they were appended. The orders
+     * appended during the scan are not included.
+     *
+     * @param visitor Receives every order
+     */
+    public void scan(RecordVisitor visitor) {
+        scan(0, visitor);
+    }
+
+    /**
+     * Passes the stored orders from a position on to the visitor, in the order they were
+     * appended, so a long scan can be resumed.
+     *
+     * @param from Number of orders to skip
+     * @param visitor Receives every order
+     * @return The position after the last order visited
+     */
+    public int scan(int from, RecordVisitor visitor) {
+        int end = count;
+        for (int record = from + 1; record <= end; record++) {
+            read(record, visitor);
+        }
+        return Math.max(from, end);
+    }
+
+    private void read(int record, RecordVisitor visitor) {
+        MappedByteBuffer region = dataRegions[record / RECORDS_PER_REGION];
+        int at = offset(record);
+        visitor.visit(region.getInt(at), region.getInt(at + Integer.BYTES), region.getInt(at + 2 * Integer.BYTES),
+                region.getInt(at + 3 * Integer.BYTES));
+    }
+
+    private static int offset(int record) {
+        return (record % RECORDS_PER_REGION) * RECORD_SIZE;
+    }
+
+    /**
+     * @return Number of stored orders
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * @return The largest stored order id
+     */
+    public synchronized int getMaxId() {
+        return maxId;
+    }
+
+    /**
+     * Writes the mapped regions to the disk.
+     */
+    public synchronized void force() {
+        for (MappedByteBuffer region : dataRegions) {
+            region.force();
+        }
+        for (MappedByteBuffer region : indexRegions) {
+            region.force();
+        }
+    }
+
+    private MappedByteBuffer dataRegion(int record) throws IOException {
+        int region = record / RECORDS_PER_REGION;
+        if (region >= dataRegions.length) {
+            dataRegions = grow(data, dataRegions, region);
+        }
+        return dataRegions[region];
+    }
+
+    private MappedByteBuffer indexRegion(int id) throws IOException {
+        int region = id / IDS_PER_REGION;
+        if (region >= indexRegions.length) {
+            indexRegions = grow(index, indexRegions, region);
+        }
+        return indexRegions[region];
+    }
+
+    /**
+     * Maps the regions up to the given one, which extends the file with zeros.
+     */
+    private static MappedByteBuffer[] grow(FileChannel channel, MappedByteBuffer[] regions, int last) throws IOException {
+        MappedByteBuffer[] grown = Arrays.copyOf(regions, last + 1);
+        for (int i = regions.length; i <= last; i++) {
+            grown[i] = channel.map(FileChannel.MapMode.READ_WRITE, (long) i * REGION_SIZE, REGION_SIZE);
+        }
+        return grown;
+    }
+
+    /**
+     * Stops following the orders, writes the regions to the disk and closes the files.
+     */
+    @Override
+    public void close() {
+        EventBus.Subscription following = subscription;
+        if (following != null) {
+            following.close();
+        }
+        synchronized (this) {
+            force();
+            try {
+                data.close();
+                index.close();
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "The order store could not be closed " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package org.example.bll.validators;
+
+import org.example.model.Product;
+
+/**
+ * The class is the rule chain which validates the Object Product.
+ * @author Stoica Irina
+ * @since Apr 12, 2022
+ */
+public class NumberValidator extends RuleChain<Product>{
+
+    /**
+     * If the price or quantity fields are negative, the validation throws an
+     * IllegalArgumentException
+     */
+    public NumberValidator(){
+        rule(p -> p.getPrice() >= 0, "Price cannot have a negative value!");
+        rule(p -> p.getQuantity() >= 0, "Quantity cannot have a negative value!");
+    }
+
+}
@@ -0,0 +1,20 @@
+package org.example.bll.validators;
+
+import org.example.model.Orders;
+
+/**
+ * The class is the rule chain which validates the Object Orders.
+ *
+ * @author Stoica Irina
+ * @since Apr 12, 2022
+ */
+public class QuantityValidator extends RuleChain<Orders>{
+
+    /**
+     * If the quantity has a negative value, the validation throws an IllegalArgumentException
+     */
+    public QuantityValidator(){
+        rule(orders -> orders.getQuantity() >= 0, "Quantity cannot have a negative value!");
+    }
+
+}
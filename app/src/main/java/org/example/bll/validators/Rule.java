@@ -0,0 +1,33 @@
+package org.example.bll.validators;
+
+import java.util.function.Predicate;
+
+/**
+ * A single condition an object must meet, with the message shown when it does not.
+ *
+ * @author Stoica Irina
+ * @since Oct 18, 2026
+ * @param <T> The type of the validated objects
+ */
+public final class Rule<T> {
+
+    private final Predicate<? super T> condition;
+    private final String message;
+
+    /**
+     * @param condition Returns true for the valid objects
+     * @param message Message of the violation
+     */
+    public Rule(Predicate<? super T> condition, String message) {
+        this.condition = condition;
+        this.message = message;
+    }
+
+    public boolean test(T t) {
+        return condition.test(t);
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
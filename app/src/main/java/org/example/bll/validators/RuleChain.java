@@ -0,0 +1,107 @@
+package org.example.bll.validators;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * A validator made of a list of rules, which are checked in the order they were added. The
+ * validators of the model classes are rule chains, so they can be extended or combined, for
+ * example {@code new EmailValidator().rule(c -> !c.getName().isEmpty(), "Name is missing")}.
+ *
+ * @author Stoica Irina
+ * @since Oct 18, 2026
+ * @param <T> The type of the validated objects
+ */
+public class RuleChain<T> implements Validator<T> {
+
+    private final List<Rule<? super T>> rules = new ArrayList<>();
+
+    /**
+     * Adds a rule at the end of the chain.
+     *
+     * @param condition Returns true for the valid objects
+     * @param message Message of the violation
+     * @return This chain
+     */
+    public RuleChain<T> rule(Predicate<? super T> condition, String message) {
+        return rule(new Rule<>(condition, message));
+    }
+
+    /**
+     * Adds a rule at the end of the chain.
+     *
+     * @param rule The rule
+     * @return This chain
+     */
+    public RuleChain<T> rule(Rule<? super T> rule) {
+        rules.add(rule);
+        return this;
+    }
+
+    /**
+     * Adds the rules of another chain at the end of this one.
+     *
+     * @param other The other chain
+     * @return This chain
+     */
+    public RuleChain<T> then(RuleChain<? super T> other) {
+        rules.addAll(other.rules);
+        return this;
+    }
+
+    /**
+     * Throws an IllegalArgumentException with the message of the first rule the object breaks.
+     *
+     * @param t Object to validate
+     */
+    @Override
+    public void validate(T t) {
+        for (int i = 0; i < rules.size(); i++) {
+            Rule<? super T> rule = rules.get(i);
+            if (!rule.test(t)) {
+                throw new IllegalArgumentException(rule.getMessage());
+            }
+        }
+    }
+
+    /**
+     * @param t Object to validate
+     * @return The messages of all the rules the object breaks
+     */
+    public List<String> check(T t) {
+        List<String> messages = null;
+        for (int i = 0; i < rules.size(); i++) {
+            Rule<? super T> rule = rules.get(i);
+            if (!rule.test(t)) {
+                if (messages == null) {
+                    messages = new ArrayList<>();
+                }
+                messages.add(rule.getMessage());
+            }
+        }
+        return messages != null ? messages : Collections.emptyList();
+    }
+
+    /**
+     * Checks every rule on every object, instead of stopping at the first violation.
+     *
+     * @param items Objects to validate
+     * @return The violations of all the objects, in the order of the list
+     */
+    @Override
+    public List<Violation<T>> validateAll(List<T> items) {
+        List<Violation<T>> violations = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            T item = items.get(i);
+            for (int r = 0; r < rules.size(); r++) {
+                Rule<? super T> rule = rules.get(r);
+                if (!rule.test(item)) {
+                    violations.add(new Violation<>(i, item, rule.getMessage()));
+                }
+            }
+        }
+        return violations;
+    }
+}
@@ -0,0 +1,34 @@
+package org.example.bll.validators;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author  Technical University of Cluj-Napoca, Romania Distributed Systems
+ *          Research Laboratory, http://dsrl.coned.utcluj.ro/
+ * @since  Apr 03, 2017
+ */
+public interface Validator<T> {
+
+	void validate(T t);
+
+	/**
+	 * Validates all the objects of a list and collects the violations instead of stopping at
+	 * the first invalid object.
+	 *
+	 * @param items Objects to validate
+	 * @return The violations, in the order of the list
+	 */
+	default List<Violation<T>> validateAll(List<T> items) {
+		List<Violation<T>> violations = new ArrayList<>();
+		for (int i = 0; i < items.size(); i++) {
+			try {
+				validate(items.get(i));
+			} catch (IllegalArgumentException e) {
+				violations.add(new Violation<>(i, items.get(i), e.getMessage()));
+			}
+		}
+		return violations;
+	}
+
+}
@@ -0,0 +1,86 @@
+package org.example.bll.validators;
+
+import org.example.model.Client;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Measures the cost of a call to the validators, without a database: {@link EmailValidator#isValid}
+ * with its linear scan of the simple addresses, the RFC 822 pattern alone, and
+ * {@link Validator#validateAll} of the email validator on a list of clients. Every measure is
+ * repeated after a warm-up and the best run is printed, in nanoseconds per call.
+ * Usage: {@code ValidatorBenchmark [calls per run]}
+ *
+ * @author Stoica Irina
+ * @since Oct 18, 2026
+ */
+public class ValidatorBenchmark {
+
+    private static final int WARMUP_RUNS = 5;
+    private static final int RUNS = 10;
+    private static final String[] ADDRESSES = {
+            "john.smith@example.com",
+            "irina.stoica@student.utcluj.ro",
+            "a@b.co",
+            "\"quoted name\"@example.com",
+            "John Smith <john.smith@example.com>",
+            "not an address",
+            "missing.domain@",
+            "trailing.dot.@example.com"
+    };
+
+    public static void main(String[] args) {
+        int calls = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        System.out.println("Calls per run: " + calls);
+        for (String address : ADDRESSES) {
+            System.out.printf("%-40s isValid %8.1f ns   pattern only %8.1f ns%n", address,
+                    measure(calls, EmailValidator::isValid, address),
+                    measure(calls, EmailValidator::matchesPattern, address));
+        }
+        List<Client> clients = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            clients.add(new Client(i, "Client " + i, "Street " + i, ADDRESSES[i % ADDRESSES.length]));
+        }
+        EmailValidator validator = new EmailValidator();
+        int lists = Math.max(1, calls / clients.size());
+        double best = Double.MAX_VALUE;
+        int violations = 0;
+        for (int run = 0; run < WARMUP_RUNS + RUNS; run++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < lists; i++) {
+                violations += validator.validateAll(clients).size();
+            }
+            double perClient = (double) (System.nanoTime() - start) / ((long) lists * clients.size());
+            if (run >= WARMUP_RUNS) {
+                best = Math.min(best, perClient);
+            }
+        }
+        System.out.printf("validateAll of %d clients: %.1f ns per client (%d violations)%n", clients.size(), best, violations);
+    }
+
+    /**
+     * @return The best time of a call over the runs, in nanoseconds
+     */
+    private static double measure(int calls, Predicate<String> check, String address) {
+        double best = Double.MAX_VALUE;
+        int accepted = 0;
+        for (int run = 0; run < WARMUP_RUNS + RUNS; run++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < calls; i++) {
+                if (check.test(address)) {
+                    accepted++;
+                }
+            }
+            double perCall = (double) (System.nanoTime() - start) / calls;
+            if (run >= WARMUP_RUNS) {
+                best = Math.min(best, perCall);
+            }
+        }
+        if (accepted < 0) {
+            System.out.println(accepted);
+        }
+        return best;
+    }
+}
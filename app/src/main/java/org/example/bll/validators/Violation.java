@@ -0,0 +1,41 @@
+package org.example.bll.validators;
+
+/**
+ * A rule broken by an object, found by {@link Validator#validateAll(java.util.List)}.
+ *
+ * @author Stoica Irina
+ * @since Oct 18, 2026
+ * @param <T> The type of the validated objects
+ */
+public final class Violation<T> {
+
+    private final int index;
+    private final T item;
+    private final String message;
+
+    public Violation(int index, T item, String message) {
+        this.index = index;
+        this.item = item;
+        this.message = message;
+    }
+
+    /**
+     * @return The position of the object in the validated list
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public T getItem() {
+        return item;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return "#" + index + ": " + message;
+    }
+}
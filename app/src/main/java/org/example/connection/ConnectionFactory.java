@@ -17,24 +17,51 @@ public class ConnectionFactory {
 
 	private static final Logger LOGGER = Logger.getLogger(ConnectionFactory.class.getName());
 	private static final String DRIVER = "com.mysql.cj.jdbc.Driver";
-	private static final String DBURL = "jdbc:mysql://localhost:3306/ordermanagement";
+	private static final String DBURL = "jdbc:mysql://localhost:3306/ordermanagement?useServerPrepStmts=true&rewriteBatchedStatements=true&useCursorFetch=true";
 	private static final String USER = "root";
 	private static final String PASS = "root";
 
+	private static final boolean POOL_ENABLED = Boolean.parseBoolean(System.getProperty("ordermanagement.pool.enabled", "true"));
+	private static final int POOL_MIN_SIZE = Integer.getInteger("ordermanagement.pool.minSize", 2);
+	private static final int POOL_MAX_SIZE = Integer.getInteger("ordermanagement.pool.maxSize", 10);
+	private static final long POOL_IDLE_TIMEOUT = Long.getLong("ordermanagement.pool.idleTimeoutMillis", 300_000L);
+	private static final long POOL_BORROW_TIMEOUT = Long.getLong("ordermanagement.pool.borrowTimeoutMillis", 5_000L);
+	private static final long POOL_LEAK_THRESHOLD = Long.getLong("ordermanagement.pool.leakThresholdMillis", 60_000L);
+	private static final int STATEMENT_CACHE_SIZE = Integer.getInteger("ordermanagement.pool.statementCacheSize", 32);
+
 	private static ConnectionFactory singleInstance = new ConnectionFactory();
 
+	private final ConnectionPool pool;
+
 	private ConnectionFactory() {
 		try {
 			Class.forName(DRIVER);
 		} catch (ClassNotFoundException e) {
 			e.printStackTrace();
 		}
+		if (POOL_ENABLED) {
+			pool = new ConnectionPool(this::openConnection, POOL_MIN_SIZE, POOL_MAX_SIZE, POOL_IDLE_TIMEOUT,
+					POOL_BORROW_TIMEOUT, POOL_LEAK_THRESHOLD, STATEMENT_CACHE_SIZE);
+		} else {
+			pool = null;
+		}
+	}
+
+	private Connection openConnection() throws SQLException {
+		return DriverManager.getConnection(DBURL, USER, PASS);
 	}
 
+	/**
+	 * Borrows a connection from the pool, or opens a new one when pooling is disabled through the
+	 * ordermanagement.pool.enabled system property. In both cases the connection must be given
+	 * back with {@link #close(Connection)}.
+	 *
+	 * @return A database connection or null if none could be obtained
+	 */
 	private Connection createConnection() {
 		Connection connection = null;
 		try {
-			connection = DriverManager.getConnection(DBURL, USER, PASS);
+			connection = pool != null ? pool.borrow() : openConnection();
 		} catch (SQLException e) {
 			LOGGER.log(Level.WARNING, "An error occured while trying to connect to the database");
 			e.printStackTrace();
@@ -46,6 +73,22 @@ public class ConnectionFactory {
 		return singleInstance.createConnection();
 	}
 
+	/**
+	 * @return The connection pool, or null if pooling is disabled
+	 */
+	public static ConnectionPool getPool() {
+		return singleInstance.pool;
+	}
+
+	/**
+	 * Closes the idle pooled connections. Should be called when the application stops.
+	 */
+	public static void shutdown() {
+		if (singleInstance.pool != null) {
+			singleInstance.pool.shutdown();
+		}
+	}
+
 	public static void close(Connection connection) {
 		if (connection != null) {
 			try {
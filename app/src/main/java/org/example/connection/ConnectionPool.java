@@ -0,0 +1,258 @@
+package org.example.connection;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A bounded pool of database connections. Connections are validated when they are borrowed,
+ * idle connections above the minimum size are evicted after a timeout and connections that are
+ * kept for too long are reported together with the stack of the code that borrowed them. Each
+ * connection keeps a cache of its prepared statements.
+ *
+ * @author Stoica Irina
+ * @since Oct 18, 2026
+ */
+public class ConnectionPool {
+
+    private static final Logger LOGGER = Logger.getLogger(ConnectionPool.class.getName());
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    private static final long MIN_HOUSEKEEPING_PERIOD_MILLIS = 1_000;
+
+    /**
+     * Opens a new physical connection for the pool.
+     */
+    public interface ConnectionSupplier {
+        Connection create() throws SQLException;
+    }
+
+    private final ConnectionSupplier supplier;
+    private final int minSize;
+    private final int maxSize;
+    private final long idleTimeoutMillis;
+    private final long borrowTimeoutMillis;
+    private final long leakThresholdMillis;
+    private final int statementCacheSize;
+    private final LongAdder statementCacheHits = new LongAdder();
+    private final LongAdder statementCacheMisses = new LongAdder();
+
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Set<PooledConnection> borrowed = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean shutdown;
+
+    /**
+     * @param supplier Opens the physical connections
+     * @param minSize Number of connections kept open even when they are idle
+     * @param maxSize Maximum number of connections that can be borrowed at the same time
+     * @param idleTimeoutMillis Time after which an idle connection above the minimum is closed
+     * @param borrowTimeoutMillis Maximum time a caller waits for a free connection
+     * @param leakThresholdMillis Time after which a borrowed connection is reported as leaked,
+     *                            0 to disable leak detection
+     * @param statementCacheSize Number of prepared statements cached per connection, 0 to
+     *                           disable statement caching
+     */
+    public ConnectionPool(ConnectionSupplier supplier, int minSize, int maxSize, long idleTimeoutMillis,
+                          long borrowTimeoutMillis, long leakThresholdMillis, int statementCacheSize) {
+        if (minSize < 0 || maxSize < 1 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min = " + minSize + ", max = " + maxSize);
+        }
+        this.supplier = supplier;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.leakThresholdMillis = leakThresholdMillis;
+        this.statementCacheSize = statementCacheSize;
+        this.permits = new Semaphore(maxSize, true);
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "connection-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = housekeepingPeriod();
+        housekeeper.scheduleWithFixedDelay(this::houseKeep, 0, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Waits for a free slot, then returns a validated idle connection or opens a new one.
+     * Closing the returned connection gives it back to the pool.
+     *
+     * @return A connection which is returned to the pool when it is closed
+     * @throws SQLException Thrown when no connection is free in time or a new one cannot be opened
+     */
+    public Connection borrow() throws SQLException {
+        if (shutdown) {
+            throw new SQLException("The connection pool has been shut down");
+        }
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTimeoutException("Timed out after " + borrowTimeoutMillis
+                        + " ms waiting for a database connection (" + borrowed.size() + " in use)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+        try {
+            PooledConnection pooled = takeValidIdle();
+            if (pooled == null) {
+                pooled = openPooledConnection();
+            }
+            Throwable stack = leakThresholdMillis > 0 ? new Throwable("Connection borrowed here") : null;
+            Connection connection = pooled.lease(this, stack);
+            borrowed.add(pooled);
+            return connection;
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Called when a borrowed connection is closed. The connection goes back to the front of the
+     * idle list if it is still usable, so the most recently used connections are reused first.
+     *
+     * @param pooled The connection given back by the caller
+     */
+    void release(PooledConnection pooled) {
+        borrowed.remove(pooled);
+        try {
+            if (shutdown || !pooled.reset()) {
+                pooled.closePhysical();
+            } else {
+                idle.offerFirst(pooled);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Closes all idle connections and stops the housekeeping thread. Borrowed connections are
+     * closed when they are returned.
+     */
+    public void shutdown() {
+        shutdown = true;
+        housekeeper.shutdownNow();
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            pooled.closePhysical();
+        }
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    public int getBorrowedCount() {
+        return borrowed.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @return Number of prepared statements reused from the statement caches
+     */
+    public long getStatementCacheHits() {
+        return statementCacheHits.sum();
+    }
+
+    /**
+     * @return Number of prepared statements which were not found in the statement caches
+     */
+    public long getStatementCacheMisses() {
+        return statementCacheMisses.sum();
+    }
+
+    private PooledConnection openPooledConnection() throws SQLException {
+        return new PooledConnection(supplier.create(), statementCacheSize, statementCacheHits, statementCacheMisses);
+    }
+
+    private PooledConnection takeValidIdle() {
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            if (pooled.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                return pooled;
+            }
+            LOGGER.log(Level.FINE, "Discarding a broken connection from the pool");
+            pooled.closePhysical();
+        }
+        return null;
+    }
+
+    private long housekeepingPeriod() {
+        long period = idleTimeoutMillis;
+        if (leakThresholdMillis > 0) {
+            period = Math.min(period, leakThresholdMillis);
+        }
+        return Math.max(MIN_HOUSEKEEPING_PERIOD_MILLIS, period / 2);
+    }
+
+    private void houseKeep() {
+        try {
+            evictIdle();
+            fillToMinimum();
+            detectLeaks();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Connection pool housekeeping failed", e);
+        }
+    }
+
+    /**
+     * Closes connections which have been idle for longer than the timeout, starting with the
+     * ones at the back of the idle list, while keeping at least the minimum number open.
+     */
+    private void evictIdle() {
+        long now = System.currentTimeMillis();
+        int excess = idle.size() + borrowed.size() - minSize;
+        Iterator<PooledConnection> iterator = idle.descendingIterator();
+        while (excess > 0 && iterator.hasNext()) {
+            PooledConnection pooled = iterator.next();
+            if (now - pooled.getLastUsedAt() > idleTimeoutMillis && idle.remove(pooled)) {
+                pooled.closePhysical();
+                excess--;
+            }
+        }
+    }
+
+    private void fillToMinimum() {
+        while (!shutdown && idle.size() + borrowed.size() < minSize) {
+            try {
+                idle.offerLast(openPooledConnection());
+            } catch (SQLException e) {
+                LOGGER.log(Level.WARNING, "Could not open a connection for the pool: " + e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private void detectLeaks() {
+        if (leakThresholdMillis <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (PooledConnection pooled : borrowed) {
+            long heldFor = now - pooled.getBorrowedAt();
+            if (heldFor > leakThresholdMillis && !pooled.isLeakReported()) {
+                pooled.setLeakReported();
+                LOGGER.log(Level.WARNING, "Possible connection leak: a connection has been borrowed for "
+                        + heldFor + " ms without being returned", pooled.getBorrowStack());
+            }
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package org.example.connection;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Wraps a physical database connection owned by the {@link ConnectionPool}. It keeps the
+ * bookkeeping needed by the pool (the time of the last use, the stack of the current borrower),
+ * the cache of its prepared statements and hands out proxies of the connection whose close
+ * method returns it to the pool.
+ *
+ * @author Stoica Irina
+ * @since Oct 18, 2026
+ */
+class PooledConnection {
+
+    private final Connection physical;
+    private final StatementCache statementCache;
+    private volatile long lastUsedAt;
+    private volatile long borrowedAt;
+    private volatile Throwable borrowStack;
+    private volatile boolean leakReported;
+
+    /**
+     * @param physical The connection opened by the pool
+     * @param statementCacheSize Number of prepared statements cached for the connection, 0 to
+     *                           disable the cache
+     * @param hits Counter of the statements reused from the cache
+     * @param misses Counter of the statements that had to be prepared
+     */
+    PooledConnection(Connection physical, int statementCacheSize, LongAdder hits, LongAdder misses) {
+        this.physical = physical;
+        this.statementCache = statementCacheSize > 0
+                ? new StatementCache(physical, statementCacheSize, hits, misses)
+                : null;
+        this.lastUsedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Marks the connection as borrowed and creates the proxy handed to the caller. Every borrow
+     * gets its own proxy, so a caller that keeps a reference after closing it cannot use the
+     * connection once it was given to somebody else.
+     *
+     * @param pool The pool the connection is returned to when the proxy is closed
+     * @param stack The stack of the borrower, used for leak reports, or null if not tracked
+     * @return A connection proxy for the physical connection
+     */
+    Connection lease(ConnectionPool pool, Throwable stack) {
+        borrowedAt = System.currentTimeMillis();
+        borrowStack = stack;
+        leakReported = false;
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new Lease(pool));
+    }
+
+    /**
+     * Restores the connection to its default state before it goes back to the idle list.
+     *
+     * @return true if the connection can be reused, false if it has to be discarded
+     */
+    boolean reset() {
+        try {
+            if (physical.isClosed()) {
+                return false;
+            }
+            if (!physical.getAutoCommit()) {
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+            physical.clearWarnings();
+            lastUsedAt = System.currentTimeMillis();
+            borrowStack = null;
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @param timeoutSeconds Maximum time to wait for the database to answer
+     * @return true if the connection is still usable
+     */
+    boolean isValid(int timeoutSeconds) {
+        try {
+            return !physical.isClosed() && physical.isValid(timeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    void closePhysical() {
+        if (statementCache != null) {
+            statementCache.closeAll();
+        }
+        ConnectionFactory.close(physical);
+    }
+
+    long getLastUsedAt() {
+        return lastUsedAt;
+    }
+
+    long getBorrowedAt() {
+        return borrowedAt;
+    }
+
+    Throwable getBorrowStack() {
+        return borrowStack;
+    }
+
+    boolean isLeakReported() {
+        return leakReported;
+    }
+
+    void setLeakReported() {
+        leakReported = true;
+    }
+
+    /**
+     * Invocation handler of a single borrow. Closing it gives the connection back to the pool,
+     * every other call is forwarded to the physical connection until then.
+     */
+    private final class Lease implements InvocationHandler {
+        private final ConnectionPool pool;
+        private volatile boolean returned;
+
+        private Lease(ConnectionPool pool) {
+            this.pool = pool;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        pool.release(PooledConnection.this);
+                    }
+                    return null;
+                case "isClosed":
+                    if (returned) {
+                        return true;
+                    }
+                    break;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled[" + physical + "]";
+                default:
+                    break;
+            }
+            if (returned) {
+                throw new SQLException("The connection has already been returned to the pool");
+            }
+            if (statementCache != null && isCacheablePrepare(method)) {
+                int autoGeneratedKeys = args.length == 2 ? (Integer) args[1] : Statement.NO_GENERATED_KEYS;
+                return statementCache.prepare((Connection) proxy, (String) args[0], autoGeneratedKeys);
+            }
+            try {
+                return method.invoke(physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        /**
+         * Only prepareStatement(String) and prepareStatement(String, int autoGeneratedKeys) are
+         * cached, statements with other result set options are prepared every time.
+         */
+        private boolean isCacheablePrepare(Method method) {
+            if (!method.getName().equals("prepareStatement")) {
+                return false;
+            }
+            Class<?>[] parameters = method.getParameterTypes();
+            return parameters.length == 1 || (parameters.length == 2 && parameters[1] == int.class);
+        }
+    }
+}
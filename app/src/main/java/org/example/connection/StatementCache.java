@@ -0,0 +1,167 @@
+package org.example.connection;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded least recently used cache of prepared statements belonging to one pooled
+ * connection. The statements are keyed by their SQL text, so the DAOs which build the same
+ * queries over and over again reuse the statements the database has already parsed.
+ *
+ * @author Stoica Irina
+ * @since Oct 18, 2026
+ */
+class StatementCache {
+
+    private final Connection physical;
+    private final int capacity;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LinkedHashMap<String, CachedStatement> statements = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * @param physical The connection the statements are prepared on
+     * @param capacity Maximum number of statements kept open
+     * @param hits Counter incremented each time a cached statement is reused
+     * @param misses Counter incremented each time a statement has to be prepared
+     */
+    StatementCache(Connection physical, int capacity, LongAdder hits, LongAdder misses) {
+        this.physical = physical;
+        this.capacity = capacity;
+        this.hits = hits;
+        this.misses = misses;
+    }
+
+    /**
+     * Returns the cached statement for the given query, or prepares and caches a new one. If the
+     * cached statement is still in use (the same query is nested inside another one), a regular
+     * uncached statement is returned instead.
+     *
+     * @param connection The connection proxy returned by the statement's getConnection method
+     * @param sql The query text
+     * @param autoGeneratedKeys One of Statement.RETURN_GENERATED_KEYS or Statement.NO_GENERATED_KEYS
+     * @return A prepared statement whose close method gives it back to the cache
+     * @throws SQLException Thrown when the statement cannot be prepared
+     */
+    synchronized PreparedStatement prepare(Connection connection, String sql, int autoGeneratedKeys) throws SQLException {
+        String key = autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS ? "K:" + sql : sql;
+        CachedStatement cached = statements.get(key);
+        if (cached != null && cached.inUse) {
+            misses.increment();
+            return physical.prepareStatement(sql, autoGeneratedKeys);
+        }
+        if (cached == null) {
+            misses.increment();
+            cached = new CachedStatement(key, physical.prepareStatement(sql, autoGeneratedKeys));
+            statements.put(key, cached);
+            evictOverCapacity();
+        } else {
+            hits.increment();
+        }
+        cached.inUse = true;
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, new Checkout(cached, connection));
+    }
+
+    /**
+     * Closes all the cached statements. Called before the physical connection is closed.
+     */
+    synchronized void closeAll() {
+        for (CachedStatement cached : statements.values()) {
+            ConnectionFactory.close(cached.statement);
+        }
+        statements.clear();
+    }
+
+    private synchronized void giveBack(CachedStatement cached) {
+        cached.inUse = false;
+        try {
+            cached.statement.clearParameters();
+            cached.statement.clearBatch();
+        } catch (SQLException e) {
+            statements.remove(cached.key);
+            ConnectionFactory.close(cached.statement);
+        }
+        evictOverCapacity();
+    }
+
+    private void evictOverCapacity() {
+        Iterator<Map.Entry<String, CachedStatement>> iterator = statements.entrySet().iterator();
+        while (statements.size() > capacity && iterator.hasNext()) {
+            CachedStatement eldest = iterator.next().getValue();
+            if (!eldest.inUse) {
+                iterator.remove();
+                ConnectionFactory.close(eldest.statement);
+            }
+        }
+    }
+
+    private static final class CachedStatement {
+        private final String key;
+        private final PreparedStatement statement;
+        private boolean inUse;
+
+        private CachedStatement(String key, PreparedStatement statement) {
+            this.key = key;
+            this.statement = statement;
+        }
+    }
+
+    /**
+     * Invocation handler of a statement handed out from the cache. Closing it returns the
+     * statement to the cache instead of closing it.
+     */
+    private final class Checkout implements InvocationHandler {
+        private final CachedStatement cached;
+        private final Connection connection;
+        private boolean returned;
+
+        private Checkout(CachedStatement cached, Connection connection) {
+            this.cached = cached;
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        giveBack(cached);
+                    }
+                    return null;
+                case "isClosed":
+                    if (returned) {
+                        return true;
+                    }
+                    break;
+                case "getConnection":
+                    return connection;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            if (returned) {
+                throw new SQLException("The statement has already been closed");
+            }
+            try {
+                return method.invoke(cached.statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
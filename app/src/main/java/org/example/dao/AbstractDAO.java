@@ -0,0 +1,674 @@
+package org.example.dao;
+
+import org.example.connection.ConnectionFactory;
+
+import java.lang.reflect.ParameterizedType;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ *
+ * The class performs the basic abstract operations for a database like insert, update, delete
+ *
+ *  @author Stoica Irina
+ * @since Apr 12, 2022
+ * @param <T> Parameter T is a class which corresponds to a table in the database
+ *
+ */
+
+public class AbstractDAO<T> {
+    protected static final Logger LOGGER = Logger.getLogger(AbstractDAO.class.getName());
+    private static final int DEFAULT_BATCH_SIZE = 500;
+    private static final int DEFAULT_FETCH_SIZE = 1000;
+    private static final int MAX_IN_SIZE = 256;
+
+    private final Class<T> type;
+    private final EntityMapper<T> mapper;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private int fetchSize = DEFAULT_FETCH_SIZE;
+    private final String pageAfterQuery;
+    private final String pageBeforeQuery;
+    private final String[] inQueries = new String[Integer.numberOfTrailingZeros(MAX_IN_SIZE) + 1];
+    private final Map<List<String>, String> projectionQueries = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a DAO which maps its type by reflection, through {@link EntityMetadata}.
+     */
+    @SuppressWarnings("unchecked")
+    public AbstractDAO() {
+        this.type = (Class<T>) ((ParameterizedType) getClass().getGenericSuperclass()).getActualTypeArguments()[0];
+        this.mapper = EntityMetadata.of(type);
+        this.pageAfterQuery = createPageQuery(">", "ASC");
+        this.pageBeforeQuery = createPageQuery("<", "DESC");
+    }
+
+    /**
+     * Creates a DAO which uses the given mapper, usually one generated at compile time, so no
+     * reflection is needed.
+     *
+     * @param mapper Mapper of the type T
+     */
+    protected AbstractDAO(EntityMapper<T> mapper) {
+        this.type = mapper.getType();
+        this.mapper = mapper;
+        this.pageAfterQuery = createPageQuery(">", "ASC");
+        this.pageBeforeQuery = createPageQuery("<", "DESC");
+    }
+
+    /**
+     * @return The mapper which describes the table and converts between rows and objects
+     */
+    public EntityMapper<T> getMapper() {
+        return mapper;
+    }
+
+    /**
+     * @param comparison The comparison of the id with the query parameter
+     * @param order The direction of the ordering by id
+     * @return A keyset pagination query with the id and the page size as parameters
+     */
+    private String createPageQuery(String comparison, String order) {
+        return mapper.getSelectAllQuery() + " WHERE id " + comparison + " ? ORDER BY id " + order + " LIMIT ?";
+    }
+
+    /**
+     * Executes a query for finding all entries of the database end returns a list of corresponding
+     * objects.
+     *
+     * @return A list of objects containing all the entries of the table determined by
+     * the parameter T of the database
+     */
+    public List<T> findAll() {
+        return findList(mapper.getSelectAllQuery(), "findAll");
+    }
+
+    /**
+     * Returns the entries with the smallest ids greater than the given one, in ascending order
+     * of their id. Because the query seeks directly to the id in the index, a page costs the
+     * same no matter how far into the table it is.
+     *
+     * @param afterId The id of the last entry of the previous page, or 0 for the first page
+     * @param limit Maximum number of entries in the page
+     * @return The entries of the page, or null if the query fails
+     */
+    public List<T> findPage(int afterId, int limit) {
+        return findList(pageAfterQuery, "findPage", afterId, limit);
+    }
+
+    /**
+     * Returns the entries with the greatest ids smaller than the given one, in ascending order
+     * of their id, which is the page before the one starting with that id.
+     *
+     * @param beforeId The id of the first entry of the next page, or Integer.MAX_VALUE for the
+     *                 last page
+     * @param limit Maximum number of entries in the page
+     * @return The entries of the page, or null if the query fails
+     */
+    public List<T> findPageBefore(int beforeId, int limit) {
+        List<T> page = findList(pageBeforeQuery, "findPageBefore", beforeId, limit);
+        if (page != null) {
+            Collections.reverse(page);
+        }
+        return page;
+    }
+
+    /**
+     * Finds the entries with the given ids using as few queries as possible, instead of calling
+     * {@link #findById(int)} for every id. The ids are sent in IN lists of up to 256 elements,
+     * padded to a power of two so only a few query shapes are ever prepared.
+     *
+     * @param ids The ids to look for, duplicates and nulls are ignored
+     * @return The entries found, keyed by id in the order of the given ids, without the ids
+     * which do not exist, or null if a query fails
+     */
+    public Map<Integer, T> findByIds(Collection<Integer> ids) {
+        List<Integer> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        distinctIds.remove(null);
+        Map<Integer, T> byId = new LinkedHashMap<>();
+        if (distinctIds.isEmpty()) {
+            return byId;
+        }
+        Map<Integer, T> found = new HashMap<>();
+        Connection connection = null;
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        RowMapper<T> rowMapper = mapper.getRowMapper();
+        try {
+            connection = Transaction.getConnection();
+            for (int start = 0; start < distinctIds.size(); start += MAX_IN_SIZE) {
+                int count = Math.min(MAX_IN_SIZE, distinctIds.size() - start);
+                int shape = Integer.highestOneBit(count) == count ? count : Integer.highestOneBit(count) << 1;
+                statement = connection.prepareStatement(getInQuery(shape));
+                for (int i = 0; i < shape; i++) {
+                    statement.setInt(i + 1, distinctIds.get(start + Math.min(i, count - 1)));
+                }
+                resultSet = statement.executeQuery();
+                while (resultSet.next()) {
+                    T t = rowMapper.map(resultSet);
+                    found.put((Integer) mapper.getId(t), t);
+                }
+                ConnectionFactory.close(resultSet);
+                ConnectionFactory.close(statement);
+            }
+        } catch (SQLException e) {
+            logFailure("findByIds", e);
+            return null;
+        } finally {
+            ConnectionFactory.close(resultSet);
+            ConnectionFactory.close(statement);
+            Transaction.release(connection);
+        }
+        for (Integer id : distinctIds) {
+            T t = found.get(id);
+            if (t != null) {
+                byId.put(id, t);
+            }
+        }
+        return byId;
+    }
+
+    /**
+     * @param size Number of parameters of the IN list, a power of two
+     * @return The select query with an IN list of the given size, built once per size
+     */
+    private String getInQuery(int size) {
+        int shape = Integer.numberOfTrailingZeros(size);
+        String query = inQueries[shape];
+        if (query == null) {
+            query = mapper.getSelectAllQuery() + " WHERE id IN (" + String.join(", ", Collections.nCopies(size, "?")) + ")";
+            inQueries[shape] = query;
+        }
+        return query;
+    }
+
+    /**
+     * Selects only the given columns of all the entries, which saves reading and transferring the
+     * other columns. The returned objects have only the selected fields set, the others are null.
+     *
+     * @param columns Names of the columns to select, which are the names of the fields
+     * @return The objects built from the selected columns, or null if the query fails
+     * @throws IllegalArgumentException Thrown if a column does not exist
+     */
+    public List<T> findAllProjected(String... columns) throws IllegalArgumentException {
+        int[] indexes = columnIndexes(columns);
+        RowMapper<T> rowMapper = resultSet -> {
+            T t = mapper.newInstance();
+            for (int i = 0; i < indexes.length; i++) {
+                mapper.readColumn(t, indexes[i], resultSet, i + 1);
+            }
+            return t;
+        };
+        return findList(getProjectionQuery(columns), "findAllProjected", rowMapper);
+    }
+
+    /**
+     * Selects only the given columns of all the entries and converts every row with the given
+     * mapper, for example into a small class holding just those values. The mapper reads the
+     * columns by their index, in the order in which they were given.
+     *
+     * @param rowMapper Mapper converting a row of the selected columns
+     * @param columns Names of the columns to select, which are the names of the fields
+     * @param <R> The type of the objects built from the rows
+     * @return The objects built by the mapper, or null if the query fails
+     * @throws IllegalArgumentException Thrown if a column does not exist
+     */
+    public <R> List<R> findAllProjected(RowMapper<R> rowMapper, String... columns) throws IllegalArgumentException {
+        columnIndexes(columns);
+        return findList(getProjectionQuery(columns), "findAllProjected", rowMapper);
+    }
+
+    /**
+     * @param columns Names of columns of the table
+     * @return The index of every column in the columns of the mapper
+     * @throws IllegalArgumentException Thrown if a column does not exist
+     */
+    private int[] columnIndexes(String[] columns) throws IllegalArgumentException {
+        if (columns.length == 0) {
+            throw new IllegalArgumentException("At least one column must be selected");
+        }
+        int[] indexes = new int[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            indexes[i] = mapper.getColumns().indexOf(columns[i]);
+            if (indexes[i] < 0) {
+                throw new IllegalArgumentException(type.getSimpleName() + " has no column " + columns[i]);
+            }
+        }
+        return indexes;
+    }
+
+    private String getProjectionQuery(String[] columns) {
+        return projectionQueries.computeIfAbsent(Arrays.asList(columns),
+                key -> "SELECT " + String.join(", ", key) + " FROM " + mapper.getTableName());
+    }
+
+    private List<T> findList(String query, String operation, int... parameters) {
+        return findList(query, operation, mapper.getRowMapper(), parameters);
+    }
+
+    /**
+     * Executes a query with integer parameters and converts all the resulting rows.
+     *
+     * @param query The query to execute
+     * @param operation Name of the calling operation, used in the log messages
+     * @param rowMapper The mapper converting a row into an object
+     * @param parameters Values of the query parameters
+     * @param <R> The type of the objects
+     * @return The objects built from the rows, or null if the query fails
+     */
+    private <R> List<R> findList(String query, String operation, RowMapper<R> rowMapper, int... parameters) {
+        Connection connection = null;
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try {
+            connection = Transaction.getConnection();
+            statement = connection.prepareStatement(query);
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setInt(i + 1, parameters[i]);
+            }
+            resultSet = statement.executeQuery();
+            return createObjects(resultSet, rowMapper);
+        } catch (SQLException e) {
+            logFailure(operation, e);
+        } finally {
+            ConnectionFactory.close(resultSet);
+            ConnectionFactory.close(statement);
+            Transaction.release(connection);
+        }
+        return null;
+    }
+
+    /**
+     * Executes a query for all entries of the table and returns them as a lazy stream. The rows
+     * are read from a server side cursor, {@link #setFetchSize(int)} rows at a time, so the table
+     * is never loaded in memory at once. The stream holds a connection until it is closed, so it
+     * must be used in a try-with-resources block.
+     *
+     * @return A stream of objects built from the entries of the table
+     * @throws IllegalStateException Thrown if the query fails, when the stream is opened or while
+     * it is read, so a failure is never mistaken for an empty table
+     */
+    public Stream<T> streamAll() {
+        Connection connection = null;
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        String query = mapper.getSelectAllQuery();
+        try {
+            connection = Transaction.getConnection();
+            statement = connection.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            resultSet = statement.executeQuery();
+        } catch (SQLException e) {
+            logFailure("streamAll", e);
+            ConnectionFactory.close(resultSet);
+            ConnectionFactory.close(statement);
+            Transaction.release(connection);
+            throw new IllegalStateException("Reading " + type.getSimpleName() + " failed: " + e.getMessage(), e);
+        }
+        Connection openConnection = connection;
+        PreparedStatement openStatement = statement;
+        ResultSet rows = resultSet;
+        RowMapper<T> rowMapper = mapper.getRowMapper();
+        Spliterator<T> spliterator = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                try {
+                    if (!rows.next()) {
+                        return false;
+                    }
+                    action.accept(rowMapper.map(rows));
+                    return true;
+                } catch (SQLException e) {
+                    logFailure("streamAll", e);
+                    throw new IllegalStateException("Reading " + type.getSimpleName() + " failed: " + e.getMessage(), e);
+                }
+            }
+        };
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            ConnectionFactory.close(rows);
+            ConnectionFactory.close(openStatement);
+            Transaction.release(openConnection);
+        });
+    }
+
+    /**
+     * Passes every entry of the table to the given action without loading the whole table in
+     * memory. The connection is closed when all the rows were processed or the action fails.
+     *
+     * @param action Action called for every object built from the table
+     * @throws IllegalStateException Thrown if the rows cannot be read
+     */
+    public void forEach(Consumer<? super T> action) {
+        try (Stream<T> stream = streamAll()) {
+            stream.forEach(action);
+        }
+    }
+
+    /**
+     * @param fetchSize Number of rows read from the cursor at a time by {@link #streamAll()}
+     */
+    public void setFetchSize(int fetchSize) {
+        if (fetchSize < 1) {
+            throw new IllegalArgumentException("The fetch size must be positive");
+        }
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Executes a query for finding an entry of the database given the id end returns a list of
+     * corresponding objects.
+     *
+     * @param id Given id
+     * @return  List of objects containing all the entries of the table determined by
+     * the parameter T of the database
+     */
+    public T findById(int id) {
+        Connection connection = null;
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        String query = mapper.getSelectByIdQuery();
+        try {
+            connection = Transaction.getConnection();
+            statement = connection.prepareStatement(query);
+            statement.setInt(1, id);
+            resultSet = statement.executeQuery();
+
+            return createObjects(resultSet, mapper.getRowMapper()).get(0);
+        } catch (SQLException e) {
+            logFailure("findById", e);
+            throw new NoSuchElementException("The client with id =" + id + " was not found!");
+        } catch (IndexOutOfBoundsException e) {
+            LOGGER.log(Level.WARNING, type.getName() + " DAO:findById " + e.getMessage());
+            throw new NoSuchElementException("The client with id =" + id + " was not found!");
+        } finally {
+            ConnectionFactory.close(resultSet);
+            ConnectionFactory.close(statement);
+            Transaction.release(connection);
+        }
+    }
+
+    /**
+     * Converts a given result set into a list of objects with the same fields as the table columns
+     *
+     * @param resultSet The result set generated in the query
+     * @param rowMapper The mapper converting a row into an object
+     * @param <R> The type of the objects
+     * @return A list of objects converted from the result set parameter
+     * @throws SQLException Thrown if the rows cannot be read
+     */
+    private <R> List<R> createObjects(ResultSet resultSet, RowMapper<R> rowMapper) throws SQLException {
+        List<R> list = new ArrayList<R>();
+        while (resultSet.next()) {
+            list.add(rowMapper.map(resultSet));
+        }
+        return list;
+    }
+
+    /**
+     * Receives an object and inserts it in the database in the table with the same name as the
+     * object. The id generated by the database is set on the object.
+     *
+     * @param t The object corresponding to the entry to be added to the table
+     */
+    public void insert(T t) {
+        Connection connection = null;
+        PreparedStatement statement = null;
+        ResultSet generatedKeys = null;
+        String query = mapper.getInsertQuery();
+        try {
+            connection = Transaction.getConnection();
+            statement = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS);
+            mapper.bindInsert(statement, t);
+            statement.execute();
+            generatedKeys = statement.getGeneratedKeys();
+            if (generatedKeys.next()) {
+                mapper.setId(t, generatedKeys.getInt(1));
+            }
+        } catch (SQLException e) {
+            logFailure("insert", e);
+        } finally {
+            ConnectionFactory.close(generatedKeys);
+            ConnectionFactory.close(statement);
+            Transaction.release(connection);
+        }
+    }
+
+    /**
+     * Inserts all the given objects on a single connection, in a single transaction, sending
+     * them to the database in batches of {@link #setBatchSize(int)} rows. If the transaction is
+     * committed, the generated ids are set on the objects. Inside an outer {@link Transaction} they
+     * are only returned in the result, since the rows do not exist until it commits.
+     *
+     * @param items The objects to be inserted
+     * @return The outcome of every row and the generated ids
+     */
+    public BatchResult insertAll(Collection<T> items) {
+        return executeBatch(items, true);
+    }
+
+    /**
+     * Updates all the given objects on a single connection, in a single transaction, sending
+     * them to the database in batches of {@link #setBatchSize(int)} rows.
+     *
+     * @param items The objects to be updated, identified by their id
+     * @return The outcome of every row
+     */
+    public BatchResult updateAll(Collection<T> items) {
+        return executeBatch(items, false);
+    }
+
+    /**
+     * @param batchSize Maximum number of rows sent to the database in one batch by
+     *                  {@link #insertAll(Collection)} and {@link #updateAll(Collection)}
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The batch size must be positive");
+        }
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Runs the insert or update query for all the objects as JDBC batches inside one
+     * transaction. If a batch fails, the whole transaction is rolled back. When called inside a
+     * {@link Transaction}, the batches join it and are committed or rolled back with it: the
+     * result is then not committed and the generated ids are only returned in it, not set on the
+     * objects.
+     *
+     * @param items The objects to be written
+     * @param insert true to insert the objects, false to update them
+     * @return The outcome of every row
+     */
+    private BatchResult executeBatch(Collection<T> items, boolean insert) {
+        List<T> rows = new ArrayList<>(items);
+        BatchResult.Outcome[] outcomes = new BatchResult.Outcome[rows.size()];
+        Integer[] generatedIds = new Integer[rows.size()];
+        Arrays.fill(outcomes, BatchResult.Outcome.ROLLED_BACK);
+        if (rows.isEmpty()) {
+            return new BatchResult(!Transaction.isActive(), true, outcomes, generatedIds, null);
+        }
+        String operation = insert ? "insertAll" : "updateAll";
+        boolean joined = Transaction.isActive();
+        Connection connection = null;
+        PreparedStatement statement = null;
+        int chunkStart = 0;
+        try {
+            connection = Transaction.getConnection();
+            if (!joined) {
+                connection.setAutoCommit(false);
+            }
+            statement = insert
+                    ? connection.prepareStatement(mapper.getInsertQuery(), Statement.RETURN_GENERATED_KEYS)
+                    : connection.prepareStatement(mapper.getUpdateQuery());
+            for (; chunkStart < rows.size(); chunkStart += batchSize) {
+                int chunkEnd = Math.min(rows.size(), chunkStart + batchSize);
+                for (int i = chunkStart; i < chunkEnd; i++) {
+                    if (insert) {
+                        mapper.bindInsert(statement, rows.get(i));
+                    } else {
+                        mapper.bindUpdate(statement, rows.get(i));
+                    }
+                    statement.addBatch();
+                }
+                int[] counts = statement.executeBatch();
+                for (int i = 0; i < counts.length; i++) {
+                    outcomes[chunkStart + i] = counts[i] == 0 ? BatchResult.Outcome.UNCHANGED : BatchResult.Outcome.APPLIED;
+                }
+                if (insert) {
+                    readGeneratedIds(statement, generatedIds, chunkStart, chunkEnd);
+                }
+            }
+            if (joined) {
+                return new BatchResult(false, true, outcomes, generatedIds, null);
+            }
+            connection.commit();
+            if (insert) {
+                for (int i = 0; i < rows.size(); i++) {
+                    if (generatedIds[i] != null) {
+                        mapper.setId(rows.get(i), generatedIds[i]);
+                    }
+                }
+            }
+            return new BatchResult(true, true, outcomes, generatedIds, null);
+        } catch (SQLException e) {
+            logFailure(operation, e);
+            if (!joined) {
+                rollback(connection);
+            }
+            Arrays.fill(outcomes, BatchResult.Outcome.ROLLED_BACK);
+            Arrays.fill(generatedIds, null);
+            if (e instanceof BatchUpdateException) {
+                markFailedRows(((BatchUpdateException) e).getUpdateCounts(), outcomes, chunkStart);
+            }
+            return new BatchResult(false, false, outcomes, generatedIds, e.getMessage());
+        } finally {
+            ConnectionFactory.close(statement);
+            Transaction.release(connection);
+        }
+    }
+
+    private void readGeneratedIds(PreparedStatement statement, Integer[] generatedIds, int from, int to) throws SQLException {
+        ResultSet generatedKeys = statement.getGeneratedKeys();
+        try {
+            for (int i = from; i < to && generatedKeys.next(); i++) {
+                generatedIds[i] = generatedKeys.getInt(1);
+            }
+        } finally {
+            ConnectionFactory.close(generatedKeys);
+        }
+    }
+
+    /**
+     * Marks the rows of the failed batch which the driver reported as failed. A driver which stops
+     * at the first error returns fewer counts than rows, in which case the next row is the one
+     * that failed.
+     */
+    private void markFailedRows(int[] counts, BatchResult.Outcome[] outcomes, int chunkStart) {
+        if (counts == null) {
+            return;
+        }
+        for (int i = 0; i < counts.length && chunkStart + i < outcomes.length; i++) {
+            if (counts[i] == Statement.EXECUTE_FAILED) {
+                outcomes[chunkStart + i] = BatchResult.Outcome.FAILED;
+            }
+        }
+        int next = chunkStart + counts.length;
+        if (next < outcomes.length && !Arrays.asList(outcomes).contains(BatchResult.Outcome.FAILED)) {
+            outcomes[next] = BatchResult.Outcome.FAILED;
+        }
+    }
+
+    /**
+     * Logs the failure of a database operation. If the operation is part of a
+     * {@link Transaction}, the transaction is marked to be rolled back.
+     *
+     * @param operation Name of the operation that failed
+     * @param e The error of the operation
+     */
+    protected void logFailure(String operation, SQLException e) {
+        LOGGER.log(Level.WARNING, type.getName() + " DAO:" + operation + " " + e.getMessage());
+        Transaction.markFailed(e);
+    }
+
+    private void rollback(Connection connection) {
+        if (connection != null) {
+            try {
+                connection.rollback();
+            } catch (SQLException e) {
+                LOGGER.log(Level.WARNING, type.getName() + " DAO:rollback " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Receives an id and deletes the corresponding database entry.
+     *
+     * @param id An integer id which uniquely determines the entry to be deleted
+     * @return true if the entry was deleted, false if it does not exist or the query failed
+     */
+    public boolean delete(int id){
+        Connection connection = null;
+        PreparedStatement statement = null;
+        String query = mapper.getDeleteQuery();
+        try {
+            connection = Transaction.getConnection();
+            statement = connection.prepareStatement(query);
+            statement.setInt(1, id);
+            return statement.executeUpdate() > 0;
+        } catch (SQLException e) {
+            logFailure("delete", e);
+            return false;
+        } finally {
+            ConnectionFactory.close(statement);
+            Transaction.release(connection);
+        }
+    }
+
+    /**
+     * Receives an object and updates the entry in the database with the corresponding id with
+     * the values of the given object.
+     *
+     * @param t An object T which will be searched for and updated in the database
+     * @return true if the entry was updated, false if it does not exist or the query failed
+     */
+    public boolean update(T t) {
+        Connection connection = null;
+        PreparedStatement statement = null;
+        String query = mapper.getUpdateQuery();
+        try {
+            connection = Transaction.getConnection();
+            statement = connection.prepareStatement(query);
+            mapper.bindUpdate(statement, t);
+            return statement.executeUpdate() > 0;
+        } catch (SQLException e) {
+            logFailure("update", e);
+            return false;
+        } finally {
+            ConnectionFactory.close(statement);
+            Transaction.release(connection);
+        }
+    }
+
+}
\ No newline at end of file
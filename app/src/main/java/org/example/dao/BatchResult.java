@@ -0,0 +1,93 @@
+package org.example.dao;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The result of a batch insert or update. A batch runs in a single transaction, so either all
+ * the rows are committed or none of them is. For every row it records what happened to it and,
+ * for inserts, the id generated by the database.
+ * <p>
+ * A batch run inside an outer {@link Transaction} joins it and cannot commit: its result is
+ * applied but not committed, and its rows and generated ids only exist if the outer transaction
+ * commits.
+ *
+ * @author Stoica Irina
+ * @since Oct 18, 2026
+ */
+public class BatchResult {
+
+    /**
+     * What happened to a single row of the batch.
+     */
+    public enum Outcome {
+        /** The row was inserted or updated; it is kept if the transaction commits. */
+        APPLIED,
+        /** The statement ran but changed nothing, for example an update of a missing id. */
+        UNCHANGED,
+        /** The statement of this row failed, which rolled back the whole batch. */
+        FAILED,
+        /** The row was not written because the batch was rolled back. */
+        ROLLED_BACK
+    }
+
+    private final boolean committed;
+    private final boolean applied;
+    private final List<Outcome> outcomes;
+    private final List<Integer> generatedIds;
+    private final String errorMessage;
+
+    BatchResult(boolean committed, boolean applied, Outcome[] outcomes, Integer[] generatedIds, String errorMessage) {
+        this.committed = committed;
+        this.applied = applied;
+        this.outcomes = Collections.unmodifiableList(Arrays.asList(outcomes));
+        this.generatedIds = Collections.unmodifiableList(Arrays.asList(generatedIds));
+        this.errorMessage = errorMessage;
+    }
+
+    /**
+     * @return true if the batch committed its own transaction, false if it was rolled back or
+     * joined an outer transaction which is still open
+     */
+    public boolean isCommitted() {
+        return committed;
+    }
+
+    /**
+     * @return true if all the statements ran, false if the batch was rolled back. Inside an outer
+     * transaction the rows are only kept if it commits.
+     */
+    public boolean isApplied() {
+        return applied;
+    }
+
+    /**
+     * @return The outcome of every row, in the order of the given collection
+     */
+    public List<Outcome> getOutcomes() {
+        return outcomes;
+    }
+
+    /**
+     * @return The ids generated for the inserted rows, in the order of the given collection. The
+     * list contains null for the rows which got no id.
+     */
+    public List<Integer> getGeneratedIds() {
+        return generatedIds;
+    }
+
+    /**
+     * @return The message of the error which rolled the batch back, or null if it was applied
+     */
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    /**
+     * @return Number of rows which were applied
+     */
+    public int getAppliedCount() {
+        return Collections.frequency(outcomes, Outcome.APPLIED);
+    }
+}
@@ -0,0 +1,107 @@
+package org.example.dao;
+
+import org.example.connection.ConnectionFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Stores the position up to which a log was applied to the database, as a named sequence
+ * number in the LogCheckpoint table. Reading and saving the checkpoint in the same
+ * {@link Transaction} as the changes of a log entry makes applying the entry idempotent.
+ *
+ * @author Stoica Irina
+ * @since Oct 18, 2026
+ */
+public class CheckpointDAO {
+
+    private static final Logger LOGGER = Logger.getLogger(CheckpointDAO.class.getName());
+    private static final String CREATE_TABLE_QUERY =
+            "CREATE TABLE IF NOT EXISTS LogCheckpoint ( name VARCHAR(64) PRIMARY KEY, sequence BIGINT NOT NULL )";
+    private static final String FIND_QUERY = "SELECT sequence FROM LogCheckpoint WHERE name = ? FOR UPDATE";
+    private static final String SAVE_QUERY =
+            "INSERT INTO LogCheckpoint ( name, sequence ) VALUES ( ?, ? ) ON DUPLICATE KEY UPDATE sequence = VALUES(sequence)";
+
+    /**
+     * Creates the LogCheckpoint table if it does not exist. It must not be called inside a
+     * transaction, because the statement commits it.
+     *
+     * @return true if the table exists
+     */
+    public boolean createTable() {
+        Connection connection = null;
+        Statement statement = null;
+        try {
+            connection = ConnectionFactory.getConnection();
+            statement = connection.createStatement();
+            statement.execute(CREATE_TABLE_QUERY);
+            return true;
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "CheckpointDAO:createTable " + e.getMessage());
+            return false;
+        } finally {
+            ConnectionFactory.close(statement);
+            ConnectionFactory.close(connection);
+        }
+    }
+
+    /**
+     * Returns the checkpoint with the given name and locks it until the end of the transaction.
+     *
+     * @param name Name of the log
+     * @return The last sequence number applied, 0 if none was applied, or -1 if it could not be
+     * read
+     */
+    public long find(String name) {
+        Connection connection = null;
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try {
+            connection = Transaction.getConnection();
+            statement = connection.prepareStatement(FIND_QUERY);
+            statement.setString(1, name);
+            resultSet = statement.executeQuery();
+            return resultSet.next() ? resultSet.getLong(1) : 0;
+        } catch (SQLException e) {
+            logFailure("find", e);
+            return -1;
+        } finally {
+            ConnectionFactory.close(resultSet);
+            ConnectionFactory.close(statement);
+            Transaction.release(connection);
+        }
+    }
+
+    /**
+     * Saves the checkpoint with the given name.
+     *
+     * @param name Name of the log
+     * @param sequence The last sequence number applied
+     */
+    public void save(String name, long sequence) {
+        Connection connection = null;
+        PreparedStatement statement = null;
+        try {
+            connection = Transaction.getConnection();
+            statement = connection.prepareStatement(SAVE_QUERY);
+            statement.setString(1, name);
+            statement.setLong(2, sequence);
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            logFailure("save", e);
+        } finally {
+            ConnectionFactory.close(statement);
+            Transaction.release(connection);
+        }
+    }
+
+    private void logFailure(String operation, SQLException e) {
+        LOGGER.log(Level.WARNING, "CheckpointDAO:" + operation + " " + e.getMessage());
+        Transaction.markFailed(e);
+    }
+}
@@ -3,11 +3,17 @@ package org.example.dao;
 import org.example.model.Client;
 
 /**
- * This class extends the AbstractDAO class and sets the parameter T to the object Client
+ * This class extends the AbstractDAO class and sets the parameter T to the object Client. It
+ * uses the ClientMapper generated at compile time, so no reflection is needed at run time.
  *
  * @author Stoica Irina
  * @since Apr 12, 2022
  *
  */
 public class ClientDAO extends AbstractDAO<Client>{
+
+    public ClientDAO() {
+        super(new ClientMapper());
+    }
+
 }
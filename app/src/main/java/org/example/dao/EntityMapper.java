@@ -0,0 +1,120 @@
+package org.example.dao;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Describes how a model class is stored in its table: the column names, the queries used by
+ * {@link AbstractDAO} and the code which converts between rows and objects. It is implemented
+ * by {@link EntityMetadata}, which works by reflection, and by the mappers generated at compile
+ * time for the classes annotated with {@link org.example.model.Entity}.
+ *
+ * @author Stoica Irina
+ * @since Oct 18, 2026
+ * @param <T> The model class, which corresponds to a table in the database
+ */
+public interface EntityMapper<T> {
+
+    Class<T> getType();
+
+    String getTableName();
+
+    /**
+     * @return The column names, in the order of the declared fields of the class
+     */
+    List<String> getColumns();
+
+    String getSelectAllQuery();
+
+    String getSelectByIdQuery();
+
+    String getDeleteQuery();
+
+    String getInsertQuery();
+
+    /**
+     * @return The update query, which sets all the columns and has the id as its last parameter
+     */
+    String getUpdateQuery();
+
+    /**
+     * @return A new object with all the fields unset
+     */
+    T newInstance();
+
+    /**
+     * Builds an object from the current row. The row must contain the columns in the order given
+     * by {@link #getColumns()}, which is the order used by the select queries.
+     *
+     * @param resultSet Result set positioned on a row
+     * @return The object with the values of the row
+     * @throws SQLException Thrown if a column cannot be read
+     */
+    T mapRow(ResultSet resultSet) throws SQLException;
+
+    /**
+     * @return The {@link #mapRow(ResultSet)} method as a row mapper
+     */
+    RowMapper<T> getRowMapper();
+
+    /**
+     * Reads a single column from the current row and sets the corresponding field, used for the
+     * queries which select only some of the columns.
+     *
+     * @param t Object to modify
+     * @param index Index of the column in {@link #getColumns()}
+     * @param resultSet Result set positioned on a row
+     * @param columnIndex Index of the column in the result set, starting from 1
+     * @throws SQLException Thrown if the column cannot be read
+     */
+    void readColumn(T t, int index, ResultSet resultSet, int columnIndex) throws SQLException;
+
+    /**
+     * Sets the parameters of the insert query to the values of the object.
+     *
+     * @param statement Statement prepared from {@link #getInsertQuery()}
+     * @param t Object to be inserted
+     * @throws SQLException Thrown if a parameter cannot be set
+     */
+    void bindInsert(PreparedStatement statement, T t) throws SQLException;
+
+    /**
+     * Sets the parameters of the update query to the values of the object and its id.
+     *
+     * @param statement Statement prepared from {@link #getUpdateQuery()}
+     * @param t Object to be updated
+     * @throws SQLException Thrown if a parameter cannot be set
+     */
+    void bindUpdate(PreparedStatement statement, T t) throws SQLException;
+
+    /**
+     * @param t Object to read
+     * @param index Index of the column in {@link #getColumns()}
+     * @return The value of the corresponding field
+     */
+    Object getValue(T t, int index);
+
+    /**
+     * @param t Object to modify
+     * @param index Index of the column in {@link #getColumns()}
+     * @param value The new value of the corresponding field, of the type of the field
+     */
+    void setValue(T t, int index, Object value);
+
+    /**
+     * @param t Object to read
+     * @return The value of the id field of the object
+     */
+    Object getId(T t);
+
+    /**
+     * Sets the id of the object, used after an insert to store the id generated by the database.
+     *
+     * @param t Object to modify
+     * @param id The new id
+     */
+    void setId(T t, int id);
+
+}
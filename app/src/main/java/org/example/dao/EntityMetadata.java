@@ -0,0 +1,280 @@
+package org.example.dao;
+
+import java.beans.IntrospectionException;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds everything the DAOs need to know about a model class: the table and column names, the
+ * queries built from them and method handles for the constructor, getters and setters. The
+ * metadata is derived by reflection once per class and kept in a registry, so the reflective
+ * work is no longer repeated for every query and every row. It is used for the model classes
+ * which have no mapper generated at compile time.
+ *
+ * @author Stoica Irina
+ * @since Oct 18, 2026
+ * @param <T> The model class, which corresponds to a table in the database
+ */
+public final class EntityMetadata<T> implements EntityMapper<T> {
+
+    private static final String ID_COLUMN = "id";
+    private static final Map<Class<?>, EntityMetadata<?>> REGISTRY = new ConcurrentHashMap<>();
+
+    /**
+     * Reads one column of the current row with the getter matching the field type.
+     */
+    @FunctionalInterface
+    private interface ColumnReader {
+        Object read(ResultSet resultSet, int index) throws SQLException;
+    }
+
+    private final Class<T> type;
+    private final String tableName;
+    private final List<String> columns;
+    private final int idIndex;
+    private final MethodHandle constructor;
+    private final MethodHandle[] getters;
+    private final MethodHandle[] setters;
+    private final ColumnReader[] readers;
+    private final RowMapper<T> rowMapper;
+
+    private final String selectAllQuery;
+    private final String selectByIdQuery;
+    private final String deleteQuery;
+    private final String insertQuery;
+    private final String updateQuery;
+
+    /**
+     * Returns the metadata of the given class, creating it the first time the class is used.
+     *
+     * @param type The model class
+     * @param <T> The model type
+     * @return The metadata of the class
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> EntityMetadata<T> of(Class<T> type) {
+        return (EntityMetadata<T>) REGISTRY.computeIfAbsent(type, EntityMetadata::new);
+    }
+
+    private EntityMetadata(Class<T> type) {
+        this.type = type;
+        this.tableName = type.getSimpleName();
+        List<Field> fields = new ArrayList<>();
+        for (Field field : type.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic()) {
+                fields.add(field);
+            }
+        }
+        List<String> names = new ArrayList<>();
+        getters = new MethodHandle[fields.size()];
+        setters = new MethodHandle[fields.size()];
+        readers = new ColumnReader[fields.size()];
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodType getterType = MethodType.methodType(Object.class, Object.class);
+        MethodType setterType = MethodType.methodType(void.class, Object.class, Object.class);
+        try {
+            Constructor<T> ctor = type.getDeclaredConstructor();
+            ctor.setAccessible(true);
+            constructor = lookup.unreflectConstructor(ctor).asType(MethodType.methodType(Object.class));
+            for (int i = 0; i < fields.size(); i++) {
+                Field field = fields.get(i);
+                PropertyDescriptor descriptor = new PropertyDescriptor(field.getName(), type);
+                getters[i] = lookup.unreflect(descriptor.getReadMethod()).asType(getterType);
+                setters[i] = lookup.unreflect(descriptor.getWriteMethod()).asType(setterType);
+                readers[i] = readerFor(field.getType());
+                names.add(field.getName());
+            }
+        } catch (NoSuchMethodException | IllegalAccessException | IntrospectionException e) {
+            throw new IllegalArgumentException("Cannot map " + type.getName() + " to a table: " + e.getMessage(), e);
+        }
+        columns = Collections.unmodifiableList(names);
+        idIndex = columns.indexOf(ID_COLUMN);
+        rowMapper = this::mapRow;
+
+        String columnList = String.join(", ", columns);
+        selectAllQuery = "SELECT " + columnList + " FROM " + tableName;
+        selectByIdQuery = selectAllQuery + " WHERE " + ID_COLUMN + " = ?";
+        deleteQuery = "DELETE FROM " + tableName + " WHERE " + ID_COLUMN + " = ?";
+        insertQuery = "INSERT INTO " + tableName + " ( " + columnList + " ) VALUES ( "
+                + String.join(", ", Collections.nCopies(columns.size(), "?")) + " )";
+        updateQuery = "UPDATE " + tableName + " SET " + String.join(" = ?, ", columns) + " = ? WHERE "
+                + ID_COLUMN + " = ?";
+    }
+
+    private static ColumnReader readerFor(Class<?> fieldType) {
+        if (fieldType == Integer.class || fieldType == int.class) {
+            return (resultSet, index) -> {
+                int value = resultSet.getInt(index);
+                return resultSet.wasNull() ? null : value;
+            };
+        }
+        if (fieldType == Long.class || fieldType == long.class) {
+            return (resultSet, index) -> {
+                long value = resultSet.getLong(index);
+                return resultSet.wasNull() ? null : value;
+            };
+        }
+        if (fieldType == Double.class || fieldType == double.class) {
+            return (resultSet, index) -> {
+                double value = resultSet.getDouble(index);
+                return resultSet.wasNull() ? null : value;
+            };
+        }
+        if (fieldType == Boolean.class || fieldType == boolean.class) {
+            return (resultSet, index) -> {
+                boolean value = resultSet.getBoolean(index);
+                return resultSet.wasNull() ? null : value;
+            };
+        }
+        if (fieldType == String.class) {
+            return ResultSet::getString;
+        }
+        return (resultSet, index) -> resultSet.getObject(index, fieldType);
+    }
+
+    @Override
+    public T newInstance() {
+        try {
+            return type.cast(constructor.invokeExact());
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot create " + type.getName(), e);
+        }
+    }
+
+    @Override
+    public T mapRow(ResultSet resultSet) throws SQLException {
+        try {
+            Object instance = constructor.invokeExact();
+            for (int i = 0; i < setters.length; i++) {
+                setters[i].invokeExact(instance, readers[i].read(resultSet, i + 1));
+            }
+            return type.cast(instance);
+        } catch (SQLException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new SQLException("Cannot create " + type.getName() + " from the result set", e);
+        }
+    }
+
+    @Override
+    public void readColumn(T t, int index, ResultSet resultSet, int columnIndex) throws SQLException {
+        try {
+            setters[index].invokeExact((Object) t, readers[index].read(resultSet, columnIndex));
+        } catch (SQLException | RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new SQLException("Cannot set " + columns.get(index) + " of " + type.getName(), e);
+        }
+    }
+
+    @Override
+    public void bindInsert(PreparedStatement statement, T t) throws SQLException {
+        for (int i = 0; i < getters.length; i++) {
+            statement.setObject(i + 1, getValue(t, i));
+        }
+    }
+
+    @Override
+    public void bindUpdate(PreparedStatement statement, T t) throws SQLException {
+        bindInsert(statement, t);
+        statement.setObject(getters.length + 1, getId(t));
+    }
+
+    @Override
+    public Object getValue(T t, int index) {
+        try {
+            return getters[index].invokeExact((Object) t);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot read " + columns.get(index) + " of " + type.getName(), e);
+        }
+    }
+
+    @Override
+    public void setValue(T t, int index, Object value) {
+        try {
+            setters[index].invokeExact((Object) t, value);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot set " + columns.get(index) + " of " + type.getName(), e);
+        }
+    }
+
+    @Override
+    public Object getId(T t) {
+        return getValue(t, idIndex);
+    }
+
+    @Override
+    public void setId(T t, int id) {
+        try {
+            setters[idIndex].invokeExact((Object) t, (Object) id);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot set the id of " + type.getName(), e);
+        }
+    }
+
+    @Override
+    public Class<T> getType() {
+        return type;
+    }
+
+    @Override
+    public String getTableName() {
+        return tableName;
+    }
+
+    @Override
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    @Override
+    public RowMapper<T> getRowMapper() {
+        return rowMapper;
+    }
+
+    @Override
+    public String getSelectAllQuery() {
+        return selectAllQuery;
+    }
+
+    @Override
+    public String getSelectByIdQuery() {
+        return selectByIdQuery;
+    }
+
+    @Override
+    public String getDeleteQuery() {
+        return deleteQuery;
+    }
+
+    @Override
+    public String getInsertQuery() {
+        return insertQuery;
+    }
+
+    @Override
+    public String getUpdateQuery() {
+        return updateQuery;
+    }
+}
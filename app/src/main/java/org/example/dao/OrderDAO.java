@@ -3,11 +3,17 @@ package org.example.dao;
 import org.example.model.Orders;
 
 /**
- * This class extends the AbstractDAO class and sets the parameter T to the object Order
+ * This class extends the AbstractDAO class and sets the parameter T to the object Order. It
+ * uses the OrdersMapper generated at compile time, so no reflection is needed at run time.
  *
  * @author Stoica Irina
  * @since Apr 12, 2022
  *
  */
 public class OrderDAO extends AbstractDAO<Orders>{
+
+    public OrderDAO() {
+        super(new OrdersMapper());
+    }
+
 }
@@ -0,0 +1,94 @@
+package org.example.dao;
+
+import org.example.connection.ConnectionFactory;
+import org.example.model.Product;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * This class extends the AbstractDAO class and sets the parameter T to the object Product. It
+ * uses the ProductMapper generated at compile time, so no reflection is needed at run time.
+ *
+ * @author Stoica Irina
+ * @since Apr 12, 2022
+ *
+ */
+public class ProductDAO extends AbstractDAO<Product>{
+
+    private static final String DECREMENT_STOCK_QUERY =
+            "UPDATE Product SET quantity = quantity - ? WHERE id = ? AND quantity >= ?";
+
+    public ProductDAO() {
+        super(new ProductMapper());
+    }
+
+    /**
+     * Takes the given quantity out of the stock of a product, but only if enough of it is left.
+     * The check and the update are a single statement, so concurrent orders for the same
+     * product can never take more than the available stock.
+     *
+     * @param productId Id of the product
+     * @param quantity Quantity to be taken out of the stock
+     * @return true if the stock was decremented, false if the product does not exist, there is
+     * not enough stock or the update failed
+     */
+    public boolean decrementStock(int productId, int quantity) {
+        Connection connection = null;
+        PreparedStatement statement = null;
+        try {
+            connection = Transaction.getConnection();
+            statement = connection.prepareStatement(DECREMENT_STOCK_QUERY);
+            statement.setInt(1, quantity);
+            statement.setInt(2, productId);
+            statement.setInt(3, quantity);
+            return statement.executeUpdate() == 1;
+        } catch (SQLException e) {
+            logFailure("decrementStock", e);
+            return false;
+        } finally {
+            ConnectionFactory.close(statement);
+            Transaction.release(connection);
+        }
+    }
+
+    /**
+     * Takes the given quantities out of the stock of several products with a single JDBC batch
+     * of conditional updates. Every row is decremented only if enough of its stock is left; a
+     * negative quantity puts stock back. Inside a {@link Transaction} the batch joins it.
+     *
+     * @param productIds Ids of the products
+     * @param quantities Quantity to be taken out of the stock of the product at the same index
+     * @return The update count of every row, 1 if the stock was decremented and 0 if the product
+     * does not exist or has not enough stock, or null if the batch failed
+     */
+    public int[] decrementStockAll(int[] productIds, int[] quantities) {
+        if (productIds.length != quantities.length) {
+            throw new IllegalArgumentException("Every product needs a quantity");
+        }
+        if (productIds.length == 0) {
+            return new int[0];
+        }
+        Connection connection = null;
+        PreparedStatement statement = null;
+        try {
+            connection = Transaction.getConnection();
+            statement = connection.prepareStatement(DECREMENT_STOCK_QUERY);
+            for (int i = 0; i < productIds.length; i++) {
+                statement.setInt(1, quantities[i]);
+                statement.setInt(2, productIds[i]);
+                statement.setInt(3, quantities[i]);
+                statement.addBatch();
+            }
+            return statement.executeBatch();
+        } catch (SQLException e) {
+            logFailure("decrementStockAll", e);
+            return null;
+        } finally {
+            ConnectionFactory.close(statement);
+            Transaction.release(connection);
+        }
+    }
+
+}
@@ -0,0 +1,23 @@
+package org.example.dao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Converts the current row of a result set into an object.
+ *
+ * @author Stoica Irina
+ * @since Oct 18, 2026
+ * @param <R> The type of the object created from a row
+ */
+@FunctionalInterface
+public interface RowMapper<R> {
+
+    /**
+     * @param resultSet Result set positioned on the row to be converted
+     * @return The object built from the row
+     * @throws SQLException Thrown if a column cannot be read
+     */
+    R map(ResultSet resultSet) throws SQLException;
+
+}
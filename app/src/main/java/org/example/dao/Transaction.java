@@ -0,0 +1,126 @@
+package org.example.dao;
+
+import org.example.connection.ConnectionFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs several DAO operations as a single unit of work: on one connection, with one commit at the
+ * end and a rollback if anything fails. While a transaction is running on a thread, every DAO call
+ * made on that thread joins it instead of using a connection of its own.
+ *
+ * @author Stoica Irina
+ * @since Oct 18, 2026
+ */
+public final class Transaction {
+
+    private static final Logger LOGGER = Logger.getLogger(Transaction.class.getName());
+    private static final ThreadLocal<Transaction> CURRENT = new ThreadLocal<>();
+
+    /**
+     * The work done inside a transaction.
+     *
+     * @param <R> The type of the result of the work
+     */
+    @FunctionalInterface
+    public interface Work<R> {
+        R execute() throws SQLException;
+    }
+
+    private final Connection connection;
+    private SQLException failure;
+
+    private Transaction(Connection connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * Runs the given work in a transaction and commits it. If the work throws an exception or one
+     * of the DAO operations inside it fails, the transaction is rolled back and the exception is
+     * thrown. If a transaction is already running on the thread, the work simply joins it.
+     *
+     * @param work The DAO operations to run together
+     * @param <R> The type of the result of the work
+     * @return The result of the work
+     * @throws SQLException Thrown if a DAO operation failed or the transaction could not commit
+     */
+    public static <R> R execute(Work<R> work) throws SQLException {
+        if (CURRENT.get() != null) {
+            return work.execute();
+        }
+        Connection connection = ConnectionFactory.getConnection();
+        if (connection == null) {
+            throw new SQLException("No database connection is available");
+        }
+        Transaction transaction = new Transaction(connection);
+        CURRENT.set(transaction);
+        try {
+            connection.setAutoCommit(false);
+            R result = work.execute();
+            if (transaction.failure != null) {
+                throw transaction.failure;
+            }
+            connection.commit();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            try {
+                connection.rollback();
+            } catch (SQLException rollbackException) {
+                LOGGER.log(Level.WARNING, "Transaction rollback failed " + rollbackException.getMessage());
+            }
+            throw e;
+        } finally {
+            CURRENT.remove();
+            try {
+                connection.setAutoCommit(true);
+            } catch (SQLException e) {
+                LOGGER.log(Level.WARNING, "Could not restore auto-commit " + e.getMessage());
+            }
+            ConnectionFactory.close(connection);
+        }
+    }
+
+    /**
+     * @return true if a transaction is running on the current thread
+     */
+    static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * @return The connection of the current transaction, or a new connection if there is none
+     */
+    static Connection getConnection() {
+        Transaction transaction = CURRENT.get();
+        return transaction != null ? transaction.connection : ConnectionFactory.getConnection();
+    }
+
+    /**
+     * Closes a connection obtained from {@link #getConnection()}, unless it belongs to the
+     * current transaction, which closes it itself when it ends.
+     *
+     * @param connection The connection to be released
+     */
+    static void release(Connection connection) {
+        Transaction transaction = CURRENT.get();
+        if (transaction == null || transaction.connection != connection) {
+            ConnectionFactory.close(connection);
+        }
+    }
+
+    /**
+     * Records that a DAO operation failed, so the current transaction is rolled back instead of
+     * committed. The DAOs only log their errors, so this is how the transaction learns of them.
+     *
+     * @param e The error of the operation
+     */
+    static void markFailed(SQLException e) {
+        Transaction transaction = CURRENT.get();
+        if (transaction != null && transaction.failure == null) {
+            transaction.failure = e;
+        }
+    }
+}
@@ -9,6 +9,7 @@ package org.example.model;
  * @author Stoica Irina
  * @since Apr 12, 2022
  */
+@Entity
 public class Client {
     private Integer id;
     private String name;
@@ -0,0 +1,20 @@
+package org.example.model;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a model class which corresponds to a table in the database. At compile time the
+ * dao-processor annotation processor generates an EntityMapper for every annotated class,
+ * named after the class with the Mapper suffix and placed in the org.example.dao package.
+ * The class needs a no-arg constructor and a getter and setter for every field.
+ *
+ * @author Stoica Irina
+ * @since Oct 18, 2026
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface Entity {
+}
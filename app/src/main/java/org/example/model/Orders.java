@@ -9,6 +9,7 @@ package org.example.model;
  * @since Apr 12, 2022
  */
 
+@Entity
 public class Orders {
     private Integer id;
     private Integer clientId;
@@ -10,6 +10,7 @@ package org.example.model;
  * @since Apr 12, 2022
  */
 
+@Entity
 public class Product {
 
     private Integer id;
@@ -5,6 +5,16 @@ import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
+import org.example.bll.InventoryEngine;
+import org.example.bll.OrderLog;
+import org.example.bll.OrderPipeline;
+import org.example.bll.bills.BillWriter;
+import org.example.bll.catalog.Catalog;
+import org.example.bll.events.EventBus;
+import org.example.bll.sales.SalesAggregates;
+import org.example.bll.search.SearchIndexes;
+import org.example.bll.store.OrderStore;
+import org.example.connection.ConnectionFactory;
 
 import java.io.File;
 import java.io.IOException;
@@ -25,6 +35,20 @@ public class App extends Application {
         stage.show();
     }
 
+    @Override
+    public void stop() {
+        OrderPipeline.shutdown();
+        OrderLog.shutdown();
+        InventoryEngine.shutdown();
+        BillWriter.shutdown();
+        Catalog.shutdown();
+        SalesAggregates.shutdown();
+        OrderStore.shutdown();
+        SearchIndexes.shutdown();
+        EventBus.getInstance().shutdown();
+        ConnectionFactory.shutdown();
+    }
+
     public static void setRoot(String fxml) throws IOException {
         scene.setRoot(loadFXML(fxml));
     }
@@ -92,7 +92,7 @@ public class ClientController {
             clientTableView.refresh();
             refreshTable();
             PopUpWindow.displayError("Client successfully deleted.");
-        } catch(NumberFormatException | NoSuchElementException e){
+        } catch(IllegalArgumentException | NoSuchElementException e){
             PopUpWindow.displayError(e.getMessage());
         }
     }
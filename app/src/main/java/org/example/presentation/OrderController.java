@@ -0,0 +1,219 @@
+package org.example.presentation;
+
+import javafx.application.Platform;
+import javafx.fxml.FXML;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableView;
+import javafx.scene.control.TextField;
+import org.example.bll.ClientBLL;
+import org.example.bll.OrderBLL;
+import org.example.bll.ProductBLL;
+import org.example.bll.events.Event;
+import org.example.bll.events.EventBus;
+import org.example.model.Client;
+import org.example.model.Product;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ *
+ * This class is the Controller for the order view. It contains the functions which are called
+ * when clicking the buttons of the interface.
+ *
+ * @author Stoica Irina
+ * @since Apr 12, 2022
+ *
+ */
+
+public class OrderController {
+
+    @FXML
+    private TableView<Client> clientTableView;
+    @FXML
+    private TableView<Product> productTableView;
+    @FXML
+    private Label clientLabel;
+    @FXML
+    private Label productLabel;
+    @FXML
+    private TextField quantityTextField;
+
+    private final ProductBLL productBLL = new ProductBLL();
+    private final ClientBLL clientBLL = new ClientBLL();
+    private final OrderBLL orderBLL = new OrderBLL();
+    private Product product = null;
+    private Client client = null;
+    private final TableGenerator<Product> productTableGenerator = new TableGenerator<>();
+    private final TableGenerator<Client> clientTableGenerator = new TableGenerator<>();
+    private final Set<Integer> changedProducts = ConcurrentHashMap.newKeySet();
+    private final Set<Integer> changedClients = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean changesPending = new AtomicBoolean();
+    private EventBus.Subscription subscription;
+    private long droppedEvents;
+
+    /**
+     * Changes to the starting window when called
+     *
+     * @throws IOException Thrown if the name fxml file to be loaded is not found
+     */
+    @FXML
+    private void switchToMainMenu() throws IOException {
+        subscription.close();
+        App.setRoot("view");
+    }
+
+    /**
+     * Called automatically when the application starts and loads the clients and the products
+     * from the database to the TableView. It then subscribes to the events of the business
+     * layer, to keep the tables up to date.
+     */
+    @FXML
+    private void initialize(){
+        try {
+            List<Product> productList = productBLL.findAll();
+            List<Client> clientList = clientBLL.findAll();
+            productTableGenerator.generateTableHeader(productList, productTableView);
+            clientTableGenerator.generateTableHeader(clientList, clientTableView);
+        } catch(NullPointerException e){
+            PopUpWindow.displayError(e.getMessage());
+        }
+        subscription = EventBus.getInstance().subscribe("order-view", this::onEvent, false);
+    }
+
+    /**
+     * Called on the thread of the subscription for every event. It remembers the rows which
+     * changed and, at the end of a batch of events, updates the tables on the JavaFX thread.
+     * An order refused by the order log replayer is shown in a pop up window.
+     *
+     * @param event The event
+     * @param sequence The sequence number of the event
+     * @param endOfBatch true if there are no more events right now
+     */
+    private void onEvent(Event event, long sequence, boolean endOfBatch){
+        switch(event.getType()){
+            case STOCK_CHANGED:
+            case PRODUCT_CHANGED:
+            case PRODUCT_DELETED:
+                changedProducts.add(event.getProductId());
+                break;
+            case CLIENT_CHANGED:
+            case CLIENT_DELETED:
+                changedClients.add(event.getClientId());
+                break;
+            case ORDER_REFUSED:
+                String message = "The order of client " + event.getClientId() + " for " + event.getQuantity()
+                        + " of product " + event.getProductId() + " was refused and will not be saved.";
+                Platform.runLater(() -> PopUpWindow.displayError(message));
+                break;
+            default:
+                break;
+        }
+        if(endOfBatch && changesPending.compareAndSet(false, true)){
+            Platform.runLater(this::applyChanges);
+        }
+    }
+
+    /**
+     * Reloads only the rows which changed. If the subscription skipped events because it fell
+     * behind, the whole tables are reloaded instead.
+     */
+    private void applyChanges(){
+        changesPending.set(false);
+        long dropped = subscription.getDroppedCount();
+        if(dropped != droppedEvents){
+            droppedEvents = dropped;
+            changedProducts.clear();
+            changedClients.clear();
+            refreshTable();
+            return;
+        }
+        for(Integer id : drain(changedProducts)){
+            try {
+                Product changed = productBLL.findProductById(String.valueOf(id));
+                productTableGenerator.updateRow(changed, row -> id.equals(row.getId()));
+            } catch(NoSuchElementException e){
+                productTableGenerator.removeRows(row -> id.equals(row.getId()));
+            }
+        }
+        for(Integer id : drain(changedClients)){
+            try {
+                Client changed = clientBLL.findClientById(String.valueOf(id));
+                clientTableGenerator.updateRow(changed, row -> id.equals(row.getId()));
+            } catch(NoSuchElementException e){
+                clientTableGenerator.removeRows(row -> id.equals(row.getId()));
+            }
+        }
+    }
+
+    private static List<Integer> drain(Set<Integer> ids){
+        List<Integer> drained = new ArrayList<>();
+        for(Iterator<Integer> iterator = ids.iterator(); iterator.hasNext(); ){
+            drained.add(iterator.next());
+            iterator.remove();
+        }
+        return drained;
+    }
+
+    /**
+     * Gets the client selected in the TableView and displays it on the label
+     */
+    @FXML
+    private void showSelectedClient(){
+        try {
+            client = clientTableGenerator.showSelectedRow(clientTableView);
+            clientLabel.setText(client.toString());
+        } catch(NullPointerException e){
+            PopUpWindow.displayError(e.getMessage() + "client");
+        }
+    }
+
+    /**
+     * Gets the product selected in the TableView and displays it on the label
+     */
+    @FXML
+    private void showSelectedProduct(){
+        try {
+            product = productTableGenerator.showSelectedRow(productTableView);
+            productLabel.setText(product.toString());
+        } catch(NullPointerException e){
+            PopUpWindow.displayError(e.getMessage() + "product");
+        }
+    }
+
+    /**
+     * Tries to add the order in the database through the orderBLL. The TableView is updated by
+     * the events of the order. If this fails, a pop up window displays the error message.
+     */
+    @FXML
+    private void makeOrder(){
+        try{
+            orderBLL.addOrder(client, product, quantityTextField.getText());
+            PopUpWindow.displayError("Order successfully generated.");
+        } catch(IllegalArgumentException | NullPointerException e){
+            PopUpWindow.displayError(e.getMessage());
+        }
+    }
+
+    /**
+     * Reloads the content of the Table from the database and displays an error message if the
+     * table is empty.
+     */
+    private void refreshTable(){
+        try {
+            List<Product> productList = productBLL.findAll();
+            List<Client> clientList = clientBLL.findAll();
+            productTableGenerator.reloadTableValues(productList, productTableView);
+            clientTableGenerator.reloadTableValues(clientList, clientTableView);
+        } catch(NullPointerException e){
+            PopUpWindow.displayError(e.getMessage());
+        }
+    }
+
+}
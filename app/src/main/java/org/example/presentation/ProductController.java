@@ -94,7 +94,7 @@ public class ProductController {
             productBLL.deleteProduct(product.getId());
             refreshTable();
             PopUpWindow.displayError("Product successfully deleted.");
-        } catch(NumberFormatException | NoSuchElementException e){
+        } catch(IllegalArgumentException | NoSuchElementException e){
             PopUpWindow.displayError(e.getMessage());
         }
     }
@@ -110,7 +110,7 @@ public class ProductController {
             productBLL.updateProduct(updateIdTextField.getText(), updateNameTextField.getText(), updatePriceTextField.getText(), updateQuantityTextField.getText());
             refreshTable();
             PopUpWindow.displayError("Product successfully updated.");
-        } catch(NumberFormatException | NoSuchElementException e ){
+        } catch(IllegalArgumentException | NoSuchElementException e ){
             PopUpWindow.displayError(e.getMessage());
         }
     }
@@ -9,6 +9,7 @@ import javafx.scene.control.cell.PropertyValueFactory;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Predicate;
 
 /**
  *
@@ -59,6 +60,32 @@ public class TableGenerator<T> {
         tableView.setItems(observableList);
     }
 
+    /**
+     * This method replaces the entry of the table which matches the given object, or adds the
+     * object at the end of the table if no entry matches it.
+     *
+     * @param object The new value of the entry
+     * @param sameEntry Tells if an entry of the table corresponds to the object
+     */
+    public void updateRow(T object, Predicate<T> sameEntry){
+        for(int i = 0; i < observableList.size(); i++){
+            if(sameEntry.test(observableList.get(i))){
+                observableList.set(i, object);
+                return;
+            }
+        }
+        observableList.add(object);
+    }
+
+    /**
+     * This method removes the entries of the table which match the given condition.
+     *
+     * @param condition Condition of the entries to be removed
+     */
+    public void removeRows(Predicate<T> condition){
+        observableList.removeIf(condition);
+    }
+
     /**
      * This method gets entry from the table selected by the user and returns it as an object.
      *
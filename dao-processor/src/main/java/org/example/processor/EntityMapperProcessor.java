@@ -0,0 +1,383 @@
+package org.example.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Generates an EntityMapper for every model class annotated with org.example.model.Entity.
+ * The generated mapper contains the queries as constants and plain getter and setter calls
+ * for binding and mapping, so the DAOs using it need no reflection at run time.
+ *
+ * @author Stoica Irina
+ * @since Oct 18, 2026
+ */
+@SupportedAnnotationTypes("org.example.model.Entity")
+public class EntityMapperProcessor extends AbstractProcessor {
+
+    private static final String TARGET_PACKAGE = "org.example.dao";
+    private static final String ID_COLUMN = "id";
+
+    /**
+     * The column types with dedicated JDBC getters and setters. Any other type is read with
+     * getObject and written with setObject.
+     */
+    private enum ColumnKind {
+        INT("Int", "int", "Integer", "INTEGER"),
+        LONG("Long", "long", "Long", "BIGINT"),
+        DOUBLE("Double", "double", "Double", "DOUBLE"),
+        BOOLEAN("Boolean", "boolean", "Boolean", "BOOLEAN"),
+        STRING("String", null, "String", "VARCHAR"),
+        OBJECT("Object", null, "Object", "OTHER");
+
+        private final String jdbcName;
+        private final String primitiveName;
+        private final String boxedName;
+        private final String sqlType;
+
+        ColumnKind(String jdbcName, String primitiveName, String boxedName, String sqlType) {
+            this.jdbcName = jdbcName;
+            this.primitiveName = primitiveName;
+            this.boxedName = boxedName;
+            this.sqlType = sqlType;
+        }
+    }
+
+    private static final class Column {
+        private String name;
+        private String typeName;
+        private ColumnKind kind;
+        private boolean primitive;
+        private String getter;
+        private String setter;
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.CLASS) {
+                    error(element, "@Entity can only be used on classes");
+                    continue;
+                }
+                TypeElement type = (TypeElement) element;
+                List<Column> columns = readColumns(type);
+                if (columns == null) {
+                    continue;
+                }
+                try {
+                    writeMapper(type, columns);
+                } catch (IOException e) {
+                    error(type, "Cannot write the mapper of " + type.getSimpleName() + ": " + e.getMessage());
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads the instance fields of the class together with their getters and setters.
+     *
+     * @param type The annotated class
+     * @return The columns in declaration order, or null if the class cannot be mapped
+     */
+    private List<Column> readColumns(TypeElement type) {
+        Set<String> methods = new HashSet<>();
+        boolean hasNoArgConstructor = false;
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC)) {
+                hasNoArgConstructor = true;
+            }
+        }
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (method.getModifiers().contains(Modifier.PUBLIC) && !method.getModifiers().contains(Modifier.STATIC)) {
+                methods.add(method.getSimpleName() + "/" + method.getParameters().size());
+            }
+        }
+        if (!hasNoArgConstructor) {
+            error(type, type.getSimpleName() + " needs a public no-arg constructor to be mapped");
+            return null;
+        }
+        List<Column> columns = new ArrayList<>();
+        boolean valid = true;
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if (field.getModifiers().contains(Modifier.STATIC)) {
+                continue;
+            }
+            Column column = new Column();
+            column.name = field.getSimpleName().toString();
+            column.typeName = field.asType().toString();
+            column.primitive = field.asType().getKind().isPrimitive();
+            column.kind = kindOf(column.typeName);
+            String property = Character.toUpperCase(column.name.charAt(0)) + column.name.substring(1);
+            column.getter = (column.kind == ColumnKind.BOOLEAN && column.primitive ? "is" : "get") + property;
+            column.setter = "set" + property;
+            if (!methods.contains(column.getter + "/0") || !methods.contains(column.setter + "/1")) {
+                error(field, "The field " + column.name + " needs a public " + column.getter + " and " + column.setter);
+                valid = false;
+            }
+            columns.add(column);
+        }
+        if (columns.stream().noneMatch(column -> column.name.equals(ID_COLUMN) && column.kind == ColumnKind.INT)) {
+            error(type, type.getSimpleName() + " needs an int or Integer id field to be mapped");
+            valid = false;
+        }
+        return valid ? columns : null;
+    }
+
+    private static ColumnKind kindOf(String typeName) {
+        switch (typeName) {
+            case "int":
+            case "java.lang.Integer":
+                return ColumnKind.INT;
+            case "long":
+            case "java.lang.Long":
+                return ColumnKind.LONG;
+            case "double":
+            case "java.lang.Double":
+                return ColumnKind.DOUBLE;
+            case "boolean":
+            case "java.lang.Boolean":
+                return ColumnKind.BOOLEAN;
+            case "java.lang.String":
+                return ColumnKind.STRING;
+            default:
+                return ColumnKind.OBJECT;
+        }
+    }
+
+    private void writeMapper(TypeElement type, List<Column> columns) throws IOException {
+        String entity = type.getSimpleName().toString();
+        String qualifiedEntity = type.getQualifiedName().toString();
+        String mapperName = entity + "Mapper";
+        String variable = Character.toLowerCase(entity.charAt(0)) + entity.substring(1);
+
+        List<String> names = new ArrayList<>();
+        for (Column column : columns) {
+            names.add(column.name);
+        }
+        String columnList = String.join(", ", names);
+        String selectAll = "SELECT " + columnList + " FROM " + entity;
+        String insert = "INSERT INTO " + entity + " ( " + columnList + " ) VALUES ( "
+                + String.join(", ", Collections.nCopies(columns.size(), "?")) + " )";
+        String update = "UPDATE " + entity + " SET " + String.join(" = ?, ", names) + " = ? WHERE " + ID_COLUMN + " = ?";
+
+        Set<ColumnKind> nullableSetters = EnumSet.noneOf(ColumnKind.class);
+        Column idColumn = null;
+        for (Column column : columns) {
+            if (!column.primitive && column.kind != ColumnKind.STRING && column.kind != ColumnKind.OBJECT) {
+                nullableSetters.add(column.kind);
+            }
+            if (column.name.equals(ID_COLUMN)) {
+                idColumn = column;
+            }
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("package ").append(TARGET_PACKAGE).append(";\n\n");
+        sb.append("import ").append(qualifiedEntity).append(";\n\n");
+        sb.append("import java.sql.PreparedStatement;\n");
+        sb.append("import java.sql.ResultSet;\n");
+        sb.append("import java.sql.SQLException;\n");
+        if (!nullableSetters.isEmpty()) {
+            sb.append("import java.sql.Types;\n");
+        }
+        sb.append("import java.util.List;\n\n");
+        sb.append("/**\n");
+        sb.append(" * Maps ").append(entity).append(" objects to the ").append(entity).append(" table.\n");
+        sb.append(" * Generated by ").append(getClass().getSimpleName()).append(" from ").append(qualifiedEntity)
+                .append(", do not edit.\n");
+        sb.append(" */\n");
+        sb.append("public final class ").append(mapperName).append(" implements EntityMapper<").append(entity).append("> {\n\n");
+        sb.append("    private static final List<String> COLUMNS = List.of(");
+        for (int i = 0; i < names.size(); i++) {
+            sb.append(i == 0 ? "" : ", ").append('"').append(names.get(i)).append('"');
+        }
+        sb.append(");\n");
+        constant(sb, "SELECT_ALL_QUERY", selectAll);
+        constant(sb, "SELECT_BY_ID_QUERY", selectAll + " WHERE " + ID_COLUMN + " = ?");
+        constant(sb, "DELETE_QUERY", "DELETE FROM " + entity + " WHERE " + ID_COLUMN + " = ?");
+        constant(sb, "INSERT_QUERY", insert);
+        constant(sb, "UPDATE_QUERY", update);
+        sb.append("\n    private final RowMapper<").append(entity).append("> rowMapper = this::mapRow;\n\n");
+
+        getter(sb, "Class<" + entity + ">", "getType", entity + ".class");
+        getter(sb, "String", "getTableName", '"' + entity + '"');
+        getter(sb, "List<String>", "getColumns", "COLUMNS");
+        getter(sb, "String", "getSelectAllQuery", "SELECT_ALL_QUERY");
+        getter(sb, "String", "getSelectByIdQuery", "SELECT_BY_ID_QUERY");
+        getter(sb, "String", "getDeleteQuery", "DELETE_QUERY");
+        getter(sb, "String", "getInsertQuery", "INSERT_QUERY");
+        getter(sb, "String", "getUpdateQuery", "UPDATE_QUERY");
+        getter(sb, "RowMapper<" + entity + ">", "getRowMapper", "rowMapper");
+
+        sb.append("    @Override\n");
+        sb.append("    public ").append(entity).append(" newInstance() {\n");
+        sb.append("        return new ").append(entity).append("();\n");
+        sb.append("    }\n\n");
+
+        sb.append("    @Override\n");
+        sb.append("    public ").append(entity).append(" mapRow(ResultSet resultSet) throws SQLException {\n");
+        sb.append("        ").append(entity).append(' ').append(variable).append(" = new ").append(entity).append("();\n");
+        for (int i = 0; i < columns.size(); i++) {
+            sb.append(readStatement(columns.get(i), variable, String.valueOf(i + 1), "        "));
+        }
+        sb.append("        return ").append(variable).append(";\n");
+        sb.append("    }\n\n");
+
+        sb.append("    @Override\n");
+        sb.append("    public void readColumn(").append(entity).append(' ').append(variable)
+                .append(", int index, ResultSet resultSet, int columnIndex) throws SQLException {\n");
+        sb.append("        switch (index) {\n");
+        for (int i = 0; i < columns.size(); i++) {
+            sb.append("            case ").append(i).append(":\n");
+            sb.append(readStatement(columns.get(i), variable, "columnIndex", "                "));
+            sb.append("                break;\n");
+        }
+        sb.append("            default:\n");
+        sb.append("                throw new IndexOutOfBoundsException(\"").append(entity).append(" has no column \" + index);\n");
+        sb.append("        }\n");
+        sb.append("    }\n\n");
+
+        sb.append("    @Override\n");
+        sb.append("    public void bindInsert(PreparedStatement statement, ").append(entity).append(' ').append(variable)
+                .append(") throws SQLException {\n");
+        sb.append("        bindColumns(statement, ").append(variable).append(");\n");
+        sb.append("    }\n\n");
+
+        sb.append("    @Override\n");
+        sb.append("    public void bindUpdate(PreparedStatement statement, ").append(entity).append(' ').append(variable)
+                .append(") throws SQLException {\n");
+        sb.append("        bindColumns(statement, ").append(variable).append(");\n");
+        sb.append(bindStatement(idColumn, columns.size() + 1, variable));
+        sb.append("    }\n\n");
+
+        sb.append("    @Override\n");
+        sb.append("    public Object getValue(").append(entity).append(' ').append(variable).append(", int index) {\n");
+        sb.append("        switch (index) {\n");
+        for (int i = 0; i < columns.size(); i++) {
+            sb.append("            case ").append(i).append(":\n");
+            sb.append("                return ").append(variable).append('.').append(columns.get(i).getter).append("();\n");
+        }
+        sb.append("            default:\n");
+        sb.append("                throw new IndexOutOfBoundsException(\"").append(entity).append(" has no column \" + index);\n");
+        sb.append("        }\n");
+        sb.append("    }\n\n");
+
+        sb.append("    @Override\n");
+        sb.append("    public void setValue(").append(entity).append(' ').append(variable).append(", int index, Object value) {\n");
+        sb.append("        switch (index) {\n");
+        for (int i = 0; i < columns.size(); i++) {
+            Column column = columns.get(i);
+            String castType = column.kind == ColumnKind.OBJECT ? column.typeName : column.kind.boxedName;
+            sb.append("            case ").append(i).append(":\n");
+            sb.append("                ").append(variable).append('.').append(column.setter).append("((").append(castType)
+                    .append(") value);\n");
+            sb.append("                break;\n");
+        }
+        sb.append("            default:\n");
+        sb.append("                throw new IndexOutOfBoundsException(\"").append(entity).append(" has no column \" + index);\n");
+        sb.append("        }\n");
+        sb.append("    }\n\n");
+
+        sb.append("    @Override\n");
+        sb.append("    public Object getId(").append(entity).append(' ').append(variable).append(") {\n");
+        sb.append("        return ").append(variable).append('.').append(idColumn.getter).append("();\n");
+        sb.append("    }\n\n");
+
+        sb.append("    @Override\n");
+        sb.append("    public void setId(").append(entity).append(' ').append(variable).append(", int id) {\n");
+        sb.append("        ").append(variable).append('.').append(idColumn.setter).append("(id);\n");
+        sb.append("    }\n\n");
+
+        sb.append("    private static void bindColumns(PreparedStatement statement, ").append(entity).append(' ')
+                .append(variable).append(") throws SQLException {\n");
+        for (int i = 0; i < columns.size(); i++) {
+            sb.append(bindStatement(columns.get(i), i + 1, variable));
+        }
+        sb.append("    }\n");
+
+        for (ColumnKind kind : nullableSetters) {
+            sb.append("\n    private static void set").append(kind.jdbcName).append("(PreparedStatement statement, int index, ")
+                    .append(kind.boxedName).append(" value) throws SQLException {\n");
+            sb.append("        if (value == null) {\n");
+            sb.append("            statement.setNull(index, Types.").append(kind.sqlType).append(");\n");
+            sb.append("        } else {\n");
+            sb.append("            statement.set").append(kind.jdbcName).append("(index, value);\n");
+            sb.append("        }\n");
+            sb.append("    }\n");
+        }
+        sb.append("}\n");
+
+        JavaFileObject file = processingEnv.getFiler().createSourceFile(TARGET_PACKAGE + "." + mapperName, type);
+        try (Writer writer = file.openWriter()) {
+            writer.write(sb.toString());
+        }
+    }
+
+    /**
+     * @return The code reading the column from the result set with the getter matching its type
+     * and passing the value to the setter of the field
+     */
+    private static String readStatement(Column column, String variable, String index, String indent) {
+        String target = indent + variable + "." + column.setter + "(";
+        if (column.kind == ColumnKind.OBJECT) {
+            return target + "resultSet.getObject(" + index + ", " + column.typeName + ".class));\n";
+        }
+        if (column.primitive || column.kind == ColumnKind.STRING) {
+            return target + "resultSet.get" + column.kind.jdbcName + "(" + index + "));\n";
+        }
+        String local = column.name.equals(variable) ? column.name + "Value" : column.name;
+        return indent + column.kind.primitiveName + " " + local + " = resultSet.get" + column.kind.jdbcName + "(" + index + ");\n"
+                + target + "resultSet.wasNull() ? null : " + local + ");\n";
+    }
+
+    private static String bindStatement(Column column, int index, String variable) {
+        String value = variable + "." + column.getter + "()";
+        if (column.kind == ColumnKind.OBJECT) {
+            return "        statement.setObject(" + index + ", " + value + ");\n";
+        }
+        if (column.primitive || column.kind == ColumnKind.STRING) {
+            return "        statement.set" + column.kind.jdbcName + "(" + index + ", " + value + ");\n";
+        }
+        return "        set" + column.kind.jdbcName + "(statement, " + index + ", " + value + ");\n";
+    }
+
+    private static void constant(StringBuilder sb, String name, String value) {
+        sb.append("    private static final String ").append(name).append(" = \"").append(value).append("\";\n");
+    }
+
+    private static void getter(StringBuilder sb, String returnType, String name, String value) {
+        sb.append("    @Override\n");
+        sb.append("    public ").append(returnType).append(' ').append(name).append("() {\n");
+        sb.append("        return ").append(value).append(";\n");
+        sb.append("    }\n\n");
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
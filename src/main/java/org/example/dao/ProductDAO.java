@@ -1,13 +0,0 @@
-package org.example.dao;
-
-import org.example.model.Product;
-
-/**
- * This class extends the AbstractDAO class and sets the parameter T to the object Product
- *
- * @author Stoica Irina
- * @since Apr 12, 2022
- *
- */
-public class ProductDAO extends AbstractDAO<Product>{
-}